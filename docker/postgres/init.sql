@@ -0,0 +1,2 @@
+CREATE DATABASE invoices;
+CREATE DATABASE notifications;
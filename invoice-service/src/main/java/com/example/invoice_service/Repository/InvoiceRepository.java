@@ -1,8 +1,16 @@
 package com.example.invoice_service.Repository;
 
 import com.example.invoice_service.entity.InvoiceEntity;
+import com.example.invoice_service.entity.InvoiceStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +19,93 @@ public interface InvoiceRepository extends JpaRepository<InvoiceEntity, UUID> {
     Optional<InvoiceEntity> findByOrderId(UUID orderId);
 
     Optional<InvoiceEntity> findByInvoiceNumber(String invoiceNumber);
+
+    @Query("select i.id from InvoiceEntity i where i.status = :status order by i.requestedAt")
+    List<UUID> findIdsByStatus(@Param("status") InvoiceStatus status);
+
+    @Query("""
+            select i.id from InvoiceEntity i
+             where i.status = com.example.invoice_service.entity.InvoiceStatus.REQUESTED
+               and i.requestedAt < :requestedBefore
+             order by i.requestedAt
+            """)
+    List<UUID> findIdsRequestedBefore(@Param("requestedBefore") Instant requestedBefore);
+
+    /* =========================
+       PIPELINE STATE TRANSITIONS
+       ========================= */
+
+    /**
+     * REQUESTED → GENERATING; 0 when another worker already moved the invoice on.
+     * The claim time is the run's lease and fencing token for the final update.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            update InvoiceEntity i
+               set i.status = com.example.invoice_service.entity.InvoiceStatus.GENERATING,
+                   i.claimedAt = :claimedAt
+             where i.id = :id
+               and i.status = com.example.invoice_service.entity.InvoiceStatus.REQUESTED
+            """)
+    int claim(@Param("id") UUID id, @Param("claimedAt") Instant claimedAt);
+
+    @Query("""
+            select i.id from InvoiceEntity i
+             where i.status = com.example.invoice_service.entity.InvoiceStatus.GENERATING
+               and i.claimedAt < :claimedBefore
+             order by i.claimedAt
+            """)
+    List<UUID> findIdsClaimedBefore(@Param("claimedBefore") Instant claimedBefore);
+
+    /**
+     * GENERATING → REQUESTED for a claim whose lease ran out (its run died with the
+     * instance); 0 when the run finished in the meantime.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            update InvoiceEntity i
+               set i.status = com.example.invoice_service.entity.InvoiceStatus.REQUESTED,
+                   i.claimedAt = null
+             where i.id = :id
+               and i.status = com.example.invoice_service.entity.InvoiceStatus.GENERATING
+               and i.claimedAt < :claimedBefore
+            """)
+    int releaseClaim(@Param("id") UUID id, @Param("claimedBefore") Instant claimedBefore);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            update InvoiceEntity i
+               set i.status = com.example.invoice_service.entity.InvoiceStatus.COMPLETED,
+                   i.pdfUrl = :pdfUrl,
+                   i.totalAmount = :totalAmount,
+                   i.generatedAt = :generatedAt,
+                   i.claimedAt = null,
+                   i.failureReason = null
+             where i.id = :id
+               and i.status = com.example.invoice_service.entity.InvoiceStatus.GENERATING
+               and i.claimedAt = :claimedAt
+            """)
+    int markCompleted(
+            @Param("id") UUID id,
+            @Param("claimedAt") Instant claimedAt,
+            @Param("pdfUrl") String pdfUrl,
+            @Param("totalAmount") BigDecimal totalAmount,
+            @Param("generatedAt") Instant generatedAt
+    );
+
+    @Modifying
+    @Transactional
+    @Query("""
+            update InvoiceEntity i
+               set i.status = com.example.invoice_service.entity.InvoiceStatus.FAILED,
+                   i.claimedAt = null,
+                   i.failureReason = :reason
+             where i.id = :id
+               and i.status = com.example.invoice_service.entity.InvoiceStatus.GENERATING
+               and i.claimedAt = :claimedAt
+            """)
+    int markFailed(@Param("id") UUID id, @Param("claimedAt") Instant claimedAt, @Param("reason") String reason);
 }
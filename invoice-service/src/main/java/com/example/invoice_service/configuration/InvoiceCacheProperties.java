@@ -0,0 +1,52 @@
+package com.example.invoice_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Local disk cache in front of object storage (not used with {@code invoice.storage.type=local}).
+ */
+@Data
+@ConfigurationProperties(prefix = "invoice.cache")
+public class InvoiceCacheProperties {
+
+    private boolean enabled = true;
+
+    private Path dir = Path.of(System.getProperty("java.io.tmpdir"), "invoice-cache");
+
+    /**
+     * Eviction starts above this size and trims back to 90% of it.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(512);
+
+    /**
+     * Larger documents are always served from object storage.
+     */
+    private DataSize maxEntrySize = DataSize.ofMegabytes(16);
+
+    /**
+     * Documents up to this size are served from a memory mapping kept with the
+     * entry; larger ones are sent from the file (sendfile).
+     */
+    private DataSize mmapThreshold = DataSize.ofKilobytes(256);
+
+    /**
+     * Cap on mapped documents (least recently used mappings are released first).
+     */
+    private int maxMappedFiles = 1024;
+
+    /**
+     * Background sweep interval; eviction is also triggered as soon as the cache outgrows maxSize.
+     */
+    private Duration evictionInterval = Duration.ofSeconds(30);
+
+    /**
+     * Entries read more recently than this are not evicted; sendfile opens the file
+     * only after the download handler has returned.
+     */
+    private Duration evictionGrace = Duration.ofSeconds(5);
+}
@@ -0,0 +1,17 @@
+package com.example.invoice_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "invoice.download")
+public class InvoiceDownloadProperties {
+
+    /**
+     * How long browsers may reuse a downloaded invoice before revalidating it
+     * with If-None-Match. Invoices are customer data, so only private caches.
+     */
+    private Duration cacheMaxAge = Duration.ofHours(1);
+}
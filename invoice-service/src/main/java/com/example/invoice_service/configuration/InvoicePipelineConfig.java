@@ -0,0 +1,40 @@
+package com.example.invoice_service.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+
+@Configuration
+@EnableConfigurationProperties({
+        InvoiceCacheProperties.class,
+        InvoiceDownloadProperties.class,
+        InvoicePipelineProperties.class,
+        InvoiceRenderProperties.class,
+        InvoiceStorageProperties.class,
+        OrderServiceClientProperties.class
+})
+public class InvoicePipelineConfig {
+
+    /**
+     * Client for the pipeline's fetch stage; JDK HttpClient so calls park the
+     * (virtual) stage thread instead of pinning it.
+     */
+    @Bean
+    public RestClient orderServiceRestClient(OrderServiceClientProperties properties) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+
+        return RestClient.builder()
+                .baseUrl(properties.getBaseUrl())
+                .requestFactory(requestFactory)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.invoice_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "invoice.pipeline")
+public class InvoicePipelineProperties {
+
+    /**
+     * Directory rendered documents are spooled to between the render and store stages.
+     */
+    private Path spoolDir = Path.of(System.getProperty("java.io.tmpdir"), "invoice-spool");
+
+    /**
+     * Re-submit invoices still REQUESTED (accepted but never started) at startup.
+     */
+    private boolean recoverOnStartup = true;
+
+    /**
+     * How long a claimed (GENERATING) invoice may go without finishing before its run is
+     * presumed dead (crash, redeploy) and the invoice goes back to REQUESTED. Must exceed
+     * the slowest healthy run, or an invoice is generated twice.
+     */
+    private Duration claimLease = Duration.ofMinutes(10);
+
+    /**
+     * Invoices still REQUESTED this long after they were accepted (their claim failed, e.g.
+     * on a busy database) are resubmitted by the periodic sweep.
+     */
+    private Duration requestedResubmitAfter = Duration.ofMinutes(1);
+
+    /**
+     * How often expired claims and stalled REQUESTED invoices are looked for; 0 = only at startup.
+     */
+    private Duration recoveryInterval = Duration.ofMinutes(1);
+
+    /**
+     * Blocking HTTP call to order-service.
+     */
+    private Stage fetch = new Stage(500);
+
+    /**
+     * Template rendering + PDF generation; CPU bound, 0 = one per available core.
+     */
+    private Stage render = new Stage(0);
+
+    /**
+     * Upload of the rendered document.
+     */
+    private Stage store = new Stage(200);
+
+    /**
+     * Completion write + InvoiceGeneratedEvent.
+     */
+    private Stage publish = new Stage(500);
+
+    @Data
+    public static class Stage {
+
+        /**
+         * Invoices processed by the stage at once; further invoices park until a slot frees up.
+         */
+        private int maxConcurrency;
+
+        public Stage() {
+        }
+
+        public Stage(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int effectiveMaxConcurrency() {
+            return maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.invoice_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+@Data
+@ConfigurationProperties(prefix = "invoice.render")
+public class InvoiceRenderProperties {
+
+    /**
+     * Invoice layout; compiled once at startup.
+     */
+    private Resource template = new ClassPathResource("templates/invoice.layout");
+}
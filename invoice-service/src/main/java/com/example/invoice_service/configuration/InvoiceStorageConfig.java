@@ -0,0 +1,91 @@
+package com.example.invoice_service.configuration;
+
+import com.example.invoice_service.services.CachingInvoiceStorage;
+import com.example.invoice_service.services.InvoiceStorage;
+import com.example.invoice_service.services.LocalInvoiceStorage;
+import com.example.invoice_service.services.S3InvoiceStorage;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.retries.DefaultRetryStrategy;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.IOException;
+
+/**
+ * Picks the invoice document store from {@code invoice.storage.type}; object storage
+ * gets the local disk cache in front of it ({@code invoice.cache.enabled}).
+ */
+@Configuration
+@Slf4j
+public class InvoiceStorageConfig {
+
+    @Bean
+    public InvoiceStorage invoiceStorage(
+            InvoiceStorageProperties properties,
+            InvoiceCacheProperties cacheProperties,
+            ThreadModeProperties threadModeProperties,
+            MeterRegistry meterRegistry
+    ) throws IOException {
+        log.info("Invoice storage configured. type={}, localCache={}", properties.getType(), cacheProperties.isEnabled());
+        return switch (properties.getType()) {
+            case LOCAL -> new LocalInvoiceStorage(properties);
+            case S3 -> {
+                S3InvoiceStorage storage = s3Storage(properties.getS3(), threadModeProperties, meterRegistry);
+                yield cacheProperties.isEnabled() ? new CachingInvoiceStorage(storage, cacheProperties, meterRegistry) : storage;
+            }
+        };
+    }
+
+    private static S3InvoiceStorage s3Storage(
+            InvoiceStorageProperties.S3 properties,
+            ThreadModeProperties threadModeProperties,
+            MeterRegistry meterRegistry
+    ) {
+        S3InvoiceStorage storage = new S3InvoiceStorage(s3Client(properties), properties, threadModeProperties, meterRegistry);
+        if (properties.isCreateBucket()) {
+            try {
+                storage.ensureBucket();
+            } catch (SdkException ex) {
+                // object storage being down must not keep the service from starting; stores fail and are marked FAILED
+                log.warn("Could not verify invoice bucket. bucket={}, endpoint={}", properties.getBucket(), properties.getEndpoint(), ex);
+            }
+        }
+        return storage;
+    }
+
+    /**
+     * Blocking client on the JDK URLConnection transport, which parks virtual threads
+     * instead of pinning them. SDK retries are off: S3InvoiceStorage retries per part,
+     * so a failed part does not resend the whole document.
+     */
+    public static S3Client s3Client(InvoiceStorageProperties.S3 properties) {
+        return S3Client.builder()
+                .endpointOverride(properties.getEndpoint())
+                .region(Region.of(properties.getRegion()))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(properties.getAccessKey(), properties.getSecretKey())
+                ))
+                .serviceConfiguration(s3 -> s3
+                        .pathStyleAccessEnabled(properties.isPathStyleAccess())
+                        // HttpURLConnection stalls on 100-continue; a rejected request costs at most one part anyway
+                        .expectContinueEnabled(false))
+                // plain Content-Length bodies; aws-chunked checksum trailers are not supported by every S3 clone
+                .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED)
+                .httpClient(UrlConnectionHttpClient.builder()
+                        .connectionTimeout(properties.getConnectTimeout())
+                        .socketTimeout(properties.getSocketTimeout())
+                        .build())
+                .overrideConfiguration(override -> override.retryStrategy(DefaultRetryStrategy.doNotRetry()))
+                .build();
+    }
+}
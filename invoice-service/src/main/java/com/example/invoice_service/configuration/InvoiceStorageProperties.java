@@ -0,0 +1,73 @@
+package com.example.invoice_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "invoice.storage")
+public class InvoiceStorageProperties {
+
+    private InvoiceStorageType type = InvoiceStorageType.LOCAL;
+
+    /**
+     * Directory generated invoice documents are stored in (type LOCAL).
+     */
+    private Path localDir = Path.of(System.getProperty("java.io.tmpdir"), "invoices");
+
+    private S3 s3 = new S3();
+
+    @Data
+    public static class S3 {
+
+        private URI endpoint = URI.create("http://localhost:9000");
+        private String region = "us-east-1";
+        private String accessKey = "minioadmin";
+        private String secretKey = "minioadmin";
+
+        /**
+         * MinIO and most S3-compatible stores need path-style URLs (endpoint/bucket/key).
+         */
+        private boolean pathStyleAccess = true;
+
+        private String bucket = "invoices";
+
+        /**
+         * Objects are stored as {@code <keyPrefix><sha-256 of the document>}.
+         */
+        private String keyPrefix = "invoices/";
+
+        /**
+         * Create the bucket at startup if it does not exist.
+         */
+        private boolean createBucket = true;
+
+        /**
+         * Documents up to this size are sent with a single PUT, larger ones as multipart
+         * uploads of parts this size. S3 requires at least 5MB for all but the last part.
+         */
+        private DataSize partSize = DataSize.ofMegabytes(8);
+
+        /**
+         * Parts held in memory at once across all uploads; also bounds concurrent part uploads.
+         */
+        private int maxBufferedParts = 16;
+
+        /**
+         * Retries of a failed part (or single PUT) before the upload is aborted.
+         */
+        private int partRetries = 3;
+
+        /**
+         * First retry delay; doubled for every further attempt.
+         */
+        private Duration retryBackoff = Duration.ofMillis(200);
+
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration socketTimeout = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.invoice_service.configuration;
+
+/**
+ * Where generated invoice documents are kept ({@code invoice.storage.type}).
+ */
+public enum InvoiceStorageType {
+
+    /**
+     * A directory on this instance; single-node development only.
+     */
+    LOCAL,
+
+    /**
+     * An S3-compatible bucket (MinIO in docker-compose).
+     */
+    S3
+}
@@ -0,0 +1,17 @@
+package com.example.invoice_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "invoice.order-service")
+public class OrderServiceClientProperties {
+
+    private String baseUrl = "http://localhost:4000/api";
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    private Duration readTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,77 @@
+package com.example.invoice_service.configuration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Wires every executor of the service from the single {@code thread.mode} property:
+ * <p>
+ * - Tomcat request handling
+ * - {@code @Async} / application task executor
+ */
+@Configuration
+@EnableAsync
+@EnableConfigurationProperties(ThreadModeProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class ThreadModeConfig {
+
+    private final ThreadModeProperties properties;
+
+    /* =========================================================
+       TOMCAT REQUEST EXECUTOR
+       ========================================================= */
+
+    /**
+     * Platform mode keeps Tomcat's own bounded pool (server.tomcat.threads.max).
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> threadModeProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (isVirtual()) {
+                protocolHandler.setExecutor(new VirtualThreadExecutor("tomcat-vt-"));
+            }
+            log.info("Tomcat request executor configured. threadMode={}", properties.getMode());
+        };
+    }
+
+    /* =========================================================
+       @ASYNC / TASK EXECUTOR
+       ========================================================= */
+
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return newExecutor("async-", properties.getPlatformAsyncPoolSize());
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    private boolean isVirtual() {
+        return properties.getMode() == ThreadMode.VIRTUAL;
+    }
+
+    private AsyncTaskExecutor newExecutor(String threadNamePrefix, int platformPoolSize) {
+        if (isVirtual()) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix + "vt-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(platformPoolSize);
+        executor.setMaxPoolSize(platformPoolSize);
+        return executor;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.invoice_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "thread")
+public class ThreadModeProperties {
+
+    /**
+     * Active threading model (THREAD_MODE=virtual|platform).
+     */
+    private ThreadMode mode = ThreadMode.VIRTUAL;
+
+    /**
+     * Upper bound of the @Async pool when running on platform threads.
+     */
+    private int platformAsyncPoolSize = 200;
+}
@@ -1,7 +1,94 @@
 package com.example.invoice_service.controller;
 
+import com.example.invoice_service.models.InvoiceDocument;
+import com.example.invoice_service.models.InvoiceRequestModel;
+import com.example.invoice_service.models.InvoiceResponseModel;
+import com.example.invoice_service.services.InvoiceService;
+import com.example.invoice_service.utils.InvoiceDocumentWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping(InvoiceController.API_V1_INVOICES)
+@RequiredArgsConstructor
 public class InvoiceController {
-    //request invoice
-    // download invoice
-    // other endpoints...
+
+    public static final String API_V1 = "/v1";
+    public static final String INVOICES = "/invoices";
+    public static final String API_V1_INVOICES = API_V1 + INVOICES;
+
+    private final InvoiceService invoiceService;
+    private final InvoiceDocumentWriter invoiceDocumentWriter;
+
+    /* =========================
+       REQUEST INVOICE
+       ========================= */
+
+    /**
+     * Accepted immediately (202, status REQUESTED); poll the Location for progress.
+     */
+    @PostMapping
+    public ResponseEntity<InvoiceResponseModel> requestInvoice(
+            @RequestBody InvoiceRequestModel request
+    ) {
+        InvoiceResponseModel response = invoiceService.generateInvoice(request);
+
+        URI status = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{invoiceId}/status")
+                .buildAndExpand(response.getInvoiceId())
+                .toUri();
+
+        return ResponseEntity.accepted().location(status).body(response);
+    }
+
+    /* =========================
+       READ OPERATIONS
+       ========================= */
+
+    @GetMapping("/{invoiceId}/status")
+    public ResponseEntity<InvoiceResponseModel> getInvoiceStatus(
+            @PathVariable UUID invoiceId
+    ) {
+        return ResponseEntity.ok(invoiceService.getInvoiceStatus(invoiceId));
+    }
+
+    @GetMapping("/{invoiceId}")
+    public ResponseEntity<InvoiceResponseModel> getInvoiceById(
+            @PathVariable UUID invoiceId
+    ) {
+        return ResponseEntity.ok(invoiceService.getInvoiceById(invoiceId));
+    }
+
+    /* =========================
+       DOWNLOAD
+       ========================= */
+
+    /**
+     * Streams the generated PDF; supports Range, If-Range and If-None-Match.
+     */
+    @GetMapping("/{invoiceId}/download")
+    public void downloadInvoice(
+            @PathVariable UUID invoiceId,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        InvoiceDocument document = invoiceService.openInvoiceDocument(invoiceId);
+        invoiceDocumentWriter.write(
+                document, MediaType.APPLICATION_PDF_VALUE, "invoice-" + invoiceId + ".pdf", request, response
+        );
+    }
 }
@@ -11,7 +11,13 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "invoice")
+@Table(
+        name = "invoice",
+        indexes = {
+                @Index(name = "idx_invoice_order_id", columnList = "order_id"),
+                @Index(name = "idx_invoice_status", columnList = "status")
+        }
+)
 @Data
 @NoArgsConstructor
 @Builder
@@ -47,6 +53,12 @@ public class InvoiceEntity {
     @Column(name = "generated_at")
     private Instant generatedAt;
 
+    /**
+     * When the pipeline run currently owning a GENERATING invoice claimed it; null otherwise.
+     */
+    @Column(name = "claimed_at")
+    private Instant claimedAt;
+
     @Column(name = "failure_reason")
     private String failureReason;
 
@@ -0,0 +1,53 @@
+package com.example.invoice_service.models;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * A stored invoice document opened for download. Nothing is read until the
+ * response is written, and then only the requested byte range.
+ */
+public sealed interface InvoiceDocument {
+
+    long length();
+
+    /**
+     * Strong, quoted entity tag; changes whenever the document content does.
+     */
+    String eTag();
+
+    /**
+     * A file on this instance; served without copying through the heap.
+     */
+    record LocalFile(Path path, long length, String eTag) implements InvoiceDocument {
+    }
+
+    /**
+     * A small document already mapped into memory; served without opening a file.
+     * The buffer is shared: read it through slices, never move its position.
+     */
+    record Mapped(ByteBuffer content, String eTag) implements InvoiceDocument {
+
+        @Override
+        public long length() {
+            return content.capacity();
+        }
+    }
+
+    /**
+     * A document held elsewhere (object storage), streamed range by range.
+     */
+    record Remote(long length, String eTag, RangeReader reader) implements InvoiceDocument {
+    }
+
+    @FunctionalInterface
+    interface RangeReader {
+
+        /**
+         * @param end inclusive
+         */
+        InputStream open(long start, long end) throws IOException;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.invoice_service.models;
+
+import java.util.UUID;
+
+/**
+ * Published by the pipeline's last stage once an invoice is COMPLETED.
+ */
+public record InvoiceGeneratedEvent(
+        UUID invoiceId,
+        UUID orderId,
+        String invoiceNumber,
+        String pdfUrl
+) {
+}
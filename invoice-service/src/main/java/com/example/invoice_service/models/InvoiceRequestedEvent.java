@@ -0,0 +1,9 @@
+package com.example.invoice_service.models;
+
+import java.util.UUID;
+
+/**
+ * An invoice was accepted in REQUESTED state; picked up by the pipeline after commit.
+ */
+public record InvoiceRequestedEvent(UUID invoiceId) {
+}
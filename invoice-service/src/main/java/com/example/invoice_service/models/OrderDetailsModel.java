@@ -0,0 +1,54 @@
+package com.example.invoice_service.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The parts of order-service's order response an invoice is rendered from.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderDetailsModel {
+
+    private UUID orderId;
+    private List<Line> products;
+    private BigDecimal totalAmount;
+    private String status;
+    private Address address;
+    private Instant createdAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+
+        private UUID productId;
+        private int quantity;
+        private BigDecimal unitPrice;
+        private BigDecimal lineTotal;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Address {
+
+        private String line1;
+        private String line2;
+        private String city;
+        private String state;
+        private String country;
+        private String postalCode;
+    }
+}
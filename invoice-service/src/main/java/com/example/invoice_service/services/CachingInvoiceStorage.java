@@ -0,0 +1,384 @@
+package com.example.invoice_service.services;
+
+import com.example.invoice_service.configuration.InvoiceCacheProperties;
+import com.example.invoice_service.entity.InvoiceEntity;
+import com.example.invoice_service.models.InvoiceDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Size-bounded LRU disk cache in front of object storage, keyed by invoice number.
+ * <p>
+ * - Write-through: a freshly generated document is cached while it is stored, so the
+ * customer's first downloads are already local. Misses are filled from the delegate.
+ * - Files are written to a temp name and atomically renamed, so readers (and a restart)
+ * never see a partial document. The index is rebuilt from the directory on startup.
+ * - Hits up to {@code mmapThreshold} are served from a memory mapping kept with the entry
+ * (capped at {@code maxMappedFiles}); larger hits go out via sendfile.
+ * - Eviction runs on a background thread, both periodically and as soon as a write takes
+ * the cache over {@code maxSize}; requests never wait for it.
+ * <p>
+ * Entry files are named {@code <invoiceNumber>.<sha-256>}; the hash is the ETag, the same
+ * one object storage serves, so browser caches stay valid whichever tier answers.
+ * Generated invoices never change, so an entry is current for as long as it exists.
+ */
+@Slf4j
+public class CachingInvoiceStorage implements InvoiceStorage, AutoCloseable {
+
+    private static final Pattern INVOICE_NUMBER = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final Pattern ENTRY_NAME = Pattern.compile("(" + INVOICE_NUMBER.pattern() + ")\\.([0-9a-f]{64})");
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final double EVICTION_TARGET = 0.9;
+
+    private final InvoiceStorage delegate;
+    private final Path dir;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final long mmapThreshold;
+    private final long evictionGraceNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final LinkedHashMap<String, MappedByteBuffer> mapped;
+    private volatile long totalBytes;
+
+    private final ThreadPoolTaskScheduler evictor;
+    private final AtomicBoolean evictionPending = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Counter evictions;
+
+    public CachingInvoiceStorage(InvoiceStorage delegate, InvoiceCacheProperties properties, MeterRegistry meterRegistry) throws IOException {
+        this.delegate = delegate;
+        this.dir = Files.createDirectories(properties.getDir());
+        this.maxBytes = properties.getMaxSize().toBytes();
+        this.maxEntryBytes = Math.min(properties.getMaxEntrySize().toBytes(), maxBytes);
+        this.mmapThreshold = Math.min(properties.getMmapThreshold().toBytes(), Integer.MAX_VALUE);
+        this.evictionGraceNanos = properties.getEvictionGrace().toNanos();
+
+        int maxMappedFiles = properties.getMaxMappedFiles();
+        this.mapped = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MappedByteBuffer> eldest) {
+                // dropping the reference releases the mapping at the next GC
+                return size() > maxMappedFiles;
+            }
+        };
+
+        load();
+
+        FunctionCounter.builder("invoice.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("invoice.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("invoice.cache.hit.ratio", this, CachingInvoiceStorage::hitRatio)
+                .description("Downloads answered from the local cache since startup")
+                .register(meterRegistry);
+        Gauge.builder("invoice.cache.size", this, cache -> cache.totalBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("invoice.cache.entries", entries, Map::size)
+                .register(meterRegistry);
+        this.evictions = Counter.builder("invoice.cache.evictions")
+                .register(meterRegistry);
+
+        this.evictor = new ThreadPoolTaskScheduler();
+        evictor.setThreadNamePrefix("invoice-cache-evictor-");
+        evictor.setPoolSize(1);
+        evictor.initialize();
+        evictor.scheduleWithFixedDelay(this::evict, properties.getEvictionInterval());
+    }
+
+    @Override
+    public String store(InvoiceEntity invoice, Path document, String contentType) throws IOException {
+        String location = delegate.store(invoice, document, contentType);
+        try (InputStream in = Files.newInputStream(document)) {
+            put(invoice.getInvoiceNumber(), in);
+        } catch (IOException | RuntimeException ex) {
+            // the document is stored; the cache only speeds up its downloads
+            log.warn("Could not cache invoice document. invoiceNumber={}", invoice.getInvoiceNumber(), ex);
+        }
+        return location;
+    }
+
+    @Override
+    public InvoiceDocument open(InvoiceEntity invoice) throws IOException {
+        String invoiceNumber = invoice.getInvoiceNumber();
+        InvoiceDocument cached = lookup(invoiceNumber);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        InvoiceDocument document = delegate.open(invoice);
+        if (!(document instanceof InvoiceDocument.Remote remote) || remote.length() > maxEntryBytes || remote.length() == 0) {
+            return document;
+        }
+        try (InputStream in = remote.reader().open(0, remote.length() - 1)) {
+            put(invoiceNumber, in);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not cache invoice document, serving it from storage. invoiceNumber={}", invoiceNumber, ex);
+            return document;
+        }
+        InvoiceDocument filled = lookup(invoiceNumber);
+        return filled != null ? filled : document;
+    }
+
+    /**
+     * Share of downloads answered from the cache; NaN before the first one.
+     */
+    public double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? Double.NaN : (double) hitCount / total;
+    }
+
+    @Override
+    public void close() throws Exception {
+        evictor.shutdown();
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /* =========================================================
+       READ
+       ========================================================= */
+
+    private InvoiceDocument lookup(String invoiceNumber) throws IOException {
+        Entry entry;
+        MappedByteBuffer buffer;
+        lock.lock();
+        try {
+            entry = entries.get(invoiceNumber);
+            if (entry == null) {
+                return null;
+            }
+            entry.lastAccessNanos = System.nanoTime();
+            buffer = mapped.get(invoiceNumber);
+        } finally {
+            lock.unlock();
+        }
+
+        if (entry.size > mmapThreshold || entry.size == 0) {
+            return new InvoiceDocument.LocalFile(entry.path, entry.size, entry.eTag());
+        }
+        if (buffer == null) {
+            try (FileChannel channel = FileChannel.open(entry.path, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, entry.size);
+            } catch (IOException ex) {
+                // evicted between the index lookup and the open
+                return null;
+            }
+            lock.lock();
+            try {
+                if (entries.get(invoiceNumber) == entry) {
+                    mapped.put(invoiceNumber, buffer);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return new InvoiceDocument.Mapped(buffer, entry.eTag());
+    }
+
+    /* =========================================================
+       WRITE
+       ========================================================= */
+
+    private void put(String invoiceNumber, InputStream content) throws IOException {
+        if (!INVOICE_NUMBER.matcher(invoiceNumber).matches()) {
+            throw new IllegalArgumentException("Invoice number not usable as a cache key: " + invoiceNumber);
+        }
+
+        Path temp = dir.resolve(UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                size = content.transferTo(out);
+            }
+            if (size > maxEntryBytes) {
+                Files.deleteIfExists(temp);
+                return;
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = dir.resolve(invoiceNumber + "." + hash);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            index(new Entry(invoiceNumber, target, size, hash));
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+
+        if (totalBytes > maxBytes && evictionPending.compareAndSet(false, true)) {
+            evictor.execute(this::evict);
+        }
+    }
+
+    private void index(Entry entry) {
+        Entry previous;
+        lock.lock();
+        try {
+            previous = entries.put(entry.invoiceNumber, entry);
+            mapped.remove(entry.invoiceNumber);
+            totalBytes += entry.size - (previous != null ? previous.size : 0);
+        } finally {
+            lock.unlock();
+        }
+        if (previous != null && !previous.path.equals(entry.path)) {
+            deleteQuietly(previous.path);
+        }
+    }
+
+    /* =========================================================
+       EVICTION
+       ========================================================= */
+
+    /**
+     * Trims the cache to 90% of maxSize, least recently used first. Runs on the evictor
+     * thread; only the index update holds the lock, files are deleted after.
+     */
+    void evict() {
+        evictionPending.set(false);
+        List<Path> removed = new ArrayList<>();
+        lock.lock();
+        try {
+            if (totalBytes <= maxBytes) {
+                return;
+            }
+            long target = (long) (maxBytes * EVICTION_TARGET);
+            long now = System.nanoTime();
+            Iterator<Entry> eldestFirst = entries.values().iterator();
+            while (totalBytes > target && eldestFirst.hasNext()) {
+                Entry entry = eldestFirst.next();
+                if (entry.lastAccessNanos != 0 && now - entry.lastAccessNanos < evictionGraceNanos) {
+                    continue;
+                }
+                eldestFirst.remove();
+                mapped.remove(entry.invoiceNumber);
+                totalBytes -= entry.size;
+                removed.add(entry.path);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // an open mapping or file handle keeps its data readable after the unlink
+        removed.forEach(CachingInvoiceStorage::deleteQuietly);
+        evictions.increment(removed.size());
+        if (!removed.isEmpty()) {
+            log.debug("Invoice cache evicted. entries={}, sizeBytes={}", removed.size(), totalBytes);
+        }
+    }
+
+    /* =========================================================
+       STARTUP
+       ========================================================= */
+
+    /**
+     * Rebuilds the index from the directory, oldest file first as the LRU order, and
+     * removes temp files left by an interrupted write.
+     */
+    private void load() throws IOException {
+        record Found(Entry entry, long modifiedMillis) {
+        }
+        List<Found> found = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                var match = ENTRY_NAME.matcher(name);
+                if (name.endsWith(TEMP_SUFFIX) || !match.matches()) {
+                    deleteQuietly(file);
+                    continue;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                found.add(new Found(
+                        new Entry(match.group(1), file, attributes.size(), match.group(2)),
+                        attributes.lastModifiedTime().toMillis()
+                ));
+            }
+        }
+
+        found.sort(Comparator.comparingLong(Found::modifiedMillis));
+        found.forEach(file -> index(file.entry()));
+        log.info("Invoice cache loaded. dir={}, entries={}, sizeBytes={}, maxBytes={}", dir, entries.size(), totalBytes, maxBytes);
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete cached invoice document. file={}", file, ex);
+        }
+    }
+
+    private static final class Entry {
+
+        private final String invoiceNumber;
+        private final Path path;
+        private final long size;
+        private final String hash;
+        // 0 = not read since written or loaded
+        private long lastAccessNanos;
+
+        private Entry(String invoiceNumber, Path path, long size, String hash) {
+            this.invoiceNumber = invoiceNumber;
+            this.path = path;
+            this.size = size;
+            this.hash = hash;
+        }
+
+        private String eTag() {
+            return "\"" + hash + "\"";
+        }
+    }
+}
@@ -1,16 +1,17 @@
 package com.example.invoice_service.services;
 
-import com.example.invoice_service.entity.InvoiceEntity;
+import java.util.UUID;
 
 public interface InvoiceGenerationService {
 
     /**
-     * Performs the full invoice generation workflow:
+     * Schedules the full invoice generation workflow for a REQUESTED invoice and
+     * returns immediately. Runs as a staged pipeline:
      * - Fetch order
-     * - Render template
-     * - Generate PDF
+     * - Render template + generate PDF
      * - Store PDF
      * - Publish event
+     * The invoice moves REQUESTED -> GENERATING -> COMPLETED | FAILED.
      */
-    void generateInvoice(InvoiceEntity invoice);
+    void generateInvoice(UUID invoiceId);
 }
@@ -1,40 +1,356 @@
 package com.example.invoice_service.services;
 
 import com.example.invoice_service.Repository.InvoiceRepository;
+import com.example.invoice_service.configuration.InvoicePipelineProperties;
+import com.example.invoice_service.configuration.ThreadMode;
+import com.example.invoice_service.configuration.ThreadModeProperties;
 import com.example.invoice_service.entity.InvoiceEntity;
 import com.example.invoice_service.entity.InvoiceStatus;
-import lombok.RequiredArgsConstructor;
+import com.example.invoice_service.models.InvoiceGeneratedEvent;
+import com.example.invoice_service.models.InvoiceRequestedEvent;
+import com.example.invoice_service.models.OrderDetailsModel;
+import com.example.invoice_service.utils.PipelineStage;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Staged invoice pipeline: fetch → render → store → publish.
+ * <p>
+ * Each stage has its own executor and concurrency cap ({@link PipelineStage}), so the
+ * CPU-heavy render stage is bounded to the core count while the I/O stages scale out.
+ * The invoice row is only touched by short single-statement updates at the start
+ * (claim) and end (completed / failed) of the run; no transaction spans a stage.
+ * <p>
+ * The claim time is a lease: a GENERATING invoice whose run died with its instance goes
+ * back to REQUESTED once the lease has run out, and the final update only applies for
+ * the claim that started the run, so a presumed-dead run that finishes late changes nothing.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class InvoiceGenerationServiceImpl implements InvoiceGenerationService {
 
+    private static final int MAX_FAILURE_REASON_LENGTH = 255;
+
     private final InvoiceRepository invoiceRepository;
+    private final OrderServiceClient orderServiceClient;
+    private final InvoiceRenderer invoiceRenderer;
+    private final InvoiceStorage invoiceStorage;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InvoicePipelineProperties properties;
+    private final ThreadModeProperties threadModeProperties;
+
+    private final List<ThreadPoolTaskExecutor> platformExecutors = new ArrayList<>();
+    // invoices submitted by this instance and not finished yet; a resubmission is a no-op
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private ThreadPoolTaskScheduler recoveryScheduler;
+
+    private final PipelineStage fetchStage;
+    private final PipelineStage renderStage;
+    private final PipelineStage storeStage;
+    private final PipelineStage publishStage;
+
+    public InvoiceGenerationServiceImpl(
+            InvoiceRepository invoiceRepository,
+            OrderServiceClient orderServiceClient,
+            InvoiceRenderer invoiceRenderer,
+            InvoiceStorage invoiceStorage,
+            ApplicationEventPublisher eventPublisher,
+            InvoicePipelineProperties properties,
+            ThreadModeProperties threadModeProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.invoiceRepository = invoiceRepository;
+        this.orderServiceClient = orderServiceClient;
+        this.invoiceRenderer = invoiceRenderer;
+        this.invoiceStorage = invoiceStorage;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.threadModeProperties = threadModeProperties;
+
+        this.fetchStage = stage("fetch", properties.getFetch(), meterRegistry);
+        this.renderStage = stage("render", properties.getRender(), meterRegistry);
+        this.storeStage = stage("store", properties.getStore(), meterRegistry);
+        this.publishStage = stage("publish", properties.getPublish(), meterRegistry);
+    }
+
+    /* =========================================================
+       SUBMIT
+       ========================================================= */
 
     @Override
-    @Transactional
-    public void generateInvoice(InvoiceEntity invoice) {
+    public void generateInvoice(UUID invoiceId) {
+        if (!inFlight.add(invoiceId)) {
+            return;
+        }
+        AtomicReference<Instant> claim = new AtomicReference<>();
+        fetchStage.submit(() -> claimAndFetch(invoiceId, claim))
+                .thenCompose(job -> renderStage.submit(() -> render(job)))
+                .thenCompose(job -> storeStage.submit(() -> store(job)))
+                .thenCompose(job -> publishStage.submit(() -> publish(job)))
+                .whenComplete((job, ex) -> {
+                    inFlight.remove(invoiceId);
+                    if (ex != null) {
+                        onFailure(invoiceId, claim.get(), ex instanceof CompletionException ? ex.getCause() : ex);
+                    }
+                });
+    }
+
+    /**
+     * Accepted invoices enter the pipeline only once their REQUESTED row is committed.
+     */
+    @TransactionalEventListener
+    public void onInvoiceRequested(InvoiceRequestedEvent event) {
+        generateInvoice(event.invoiceId());
+    }
+
+    /**
+     * Invoices accepted before a restart but never started, and invoices whose run died
+     * past its lease, are picked up again; from then on both are swept periodically.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (properties.isRecoverOnStartup()) {
+            releaseExpiredClaims();
+            List<UUID> pending = invoiceRepository.findIdsByStatus(InvoiceStatus.REQUESTED);
+            if (!pending.isEmpty()) {
+                log.info("Resubmitting requested invoices. count={}", pending.size());
+                pending.forEach(this::generateInvoice);
+            }
+        }
+
+        Duration interval = properties.getRecoveryInterval();
+        if (interval != null && interval.isPositive()) {
+            recoveryScheduler = new ThreadPoolTaskScheduler();
+            recoveryScheduler.setThreadNamePrefix("invoice-recovery-");
+            recoveryScheduler.setPoolSize(1);
+            recoveryScheduler.initialize();
+            recoveryScheduler.scheduleWithFixedDelay(
+                    this::resubmitStalled,
+                    Instant.now().plus(interval),
+                    interval
+            );
+        }
+    }
+
+    /**
+     * Releases expired claims, then resubmits invoices still REQUESTED after
+     * requested-resubmit-after. Covers runs that never got their claim, e.g. because the
+     * claim update failed on a busy database: the invoice stays REQUESTED and nothing
+     * else would submit it again before the next restart.
+     */
+    void resubmitStalled() {
+        releaseExpiredClaims();
+        List<UUID> stalled = invoiceRepository.findIdsRequestedBefore(
+                Instant.now().minus(properties.getRequestedResubmitAfter())
+        );
+        List<UUID> resubmitted = stalled.stream()
+                .filter(invoiceId -> !inFlight.contains(invoiceId))
+                .toList();
+        if (!resubmitted.isEmpty()) {
+            log.info("Resubmitting stalled requested invoices. count={}", resubmitted.size());
+            resubmitted.forEach(this::generateInvoice);
+        }
+    }
+
+    /**
+     * Moves GENERATING invoices claimed longer than the lease ago back to REQUESTED.
+     *
+     * @return the invoices released
+     */
+    List<UUID> releaseExpiredClaims() {
+        Instant claimedBefore = Instant.now().minus(properties.getClaimLease());
+        List<UUID> released = invoiceRepository.findIdsClaimedBefore(claimedBefore).stream()
+                .filter(invoiceId -> invoiceRepository.releaseClaim(invoiceId, claimedBefore) == 1)
+                .toList();
+        if (!released.isEmpty()) {
+            log.warn("Released invoices whose claim outlived the lease. count={}, lease={}",
+                    released.size(), properties.getClaimLease());
+        }
+        return released;
+    }
+
+    /* =========================================================
+       STAGES
+       ========================================================= */
+
+    private InvoiceJob claimAndFetch(UUID invoiceId, AtomicReference<Instant> claim) {
+        // stored with microsecond precision; the token must compare equal when read back
+        Instant claimedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        if (invoiceRepository.claim(invoiceId, claimedAt) == 0) {
+            throw new NotClaimedException(invoiceId);
+        }
+        claim.set(claimedAt);
+        InvoiceEntity invoice = invoiceRepository.findById(invoiceId)
+                .orElseThrow(() -> new IllegalStateException("Invoice not found: " + invoiceId));
+
+        OrderDetailsModel order = orderServiceClient.getOrder(invoice.getOrderId());
+        return new InvoiceJob(invoice, claimedAt, order, null, null);
+    }
+
+    private InvoiceJob render(InvoiceJob job) {
+        Path document = null;
         try {
-            // 1. Fetch order details (blocking HTTP call)
-            // 2. Render invoice template
-            // 3. Generate PDF (CPU + I/O)
-            // 4. Upload to object storage
-            // 5. Publish RabbitMQ event
+            Path spoolDir = Files.createDirectories(properties.getSpoolDir());
+            document = Files.createTempFile(spoolDir, job.invoice().getInvoiceNumber() + "-", ".tmp");
+            try (OutputStream out = Files.newOutputStream(document)) {
+                invoiceRenderer.render(job.invoice(), job.order(), out);
+            }
+            return new InvoiceJob(job.invoice(), job.claimedAt(), job.order(), document, null);
+        } catch (IOException ex) {
+            deleteQuietly(document);
+            throw new UncheckedIOException(ex);
+        } catch (RuntimeException ex) {
+            deleteQuietly(document);
+            throw ex;
+        }
+    }
 
-            // Simulated success path
-            invoice.setPdfUrl("https://object-storage/invoices/" + invoice.getInvoiceNumber() + ".pdf");
-            invoice.setGeneratedAt(Instant.now());
-            invoice.setStatus(InvoiceStatus.COMPLETED);
+    private InvoiceJob store(InvoiceJob job) {
+        try {
+            String pdfUrl = invoiceStorage.store(job.invoice(), job.document(), invoiceRenderer.contentType());
+            return new InvoiceJob(job.invoice(), job.claimedAt(), job.order(), null, pdfUrl);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            deleteQuietly(job.document());
+        }
+    }
+
+    private InvoiceJob publish(InvoiceJob job) {
+        InvoiceEntity invoice = job.invoice();
+        int completed = invoiceRepository.markCompleted(
+                invoice.getId(), job.claimedAt(), job.pdfUrl(), job.order().getTotalAmount(), Instant.now()
+        );
+        if (completed == 0) {
+            // the lease ran out and the invoice was handed to another run
+            log.warn("Invoice claim lost before completion. invoiceId={}", invoice.getId());
+            return job;
+        }
+
+        eventPublisher.publishEvent(new InvoiceGeneratedEvent(
+                invoice.getId(), invoice.getOrderId(), invoice.getInvoiceNumber(), job.pdfUrl()
+        ));
+        log.info("Invoice generated. invoiceId={}, invoiceNumber={}", invoice.getId(), invoice.getInvoiceNumber());
+        return job;
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    private void onFailure(UUID invoiceId, Instant claimedAt, Throwable ex) {
+        if (ex instanceof NotClaimedException) {
+            log.debug("Invoice already picked up or not requested. invoiceId={}", invoiceId);
+            return;
+        }
+        log.error("Invoice generation failed. invoiceId={}", invoiceId, ex);
+        if (claimedAt == null) {
+            // the claim itself failed; the invoice is still REQUESTED and resubmitStalled picks it up
+            return;
+        }
+
+        String reason = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+        try {
+            invoiceRepository.markFailed(
+                    invoiceId,
+                    claimedAt,
+                    reason.length() > MAX_FAILURE_REASON_LENGTH ? reason.substring(0, MAX_FAILURE_REASON_LENGTH) : reason
+            );
+        } catch (RuntimeException markEx) {
+            log.error("Could not mark invoice failed. invoiceId={}", invoiceId, markEx);
+        }
+    }
+
+    private PipelineStage stage(String name, InvoicePipelineProperties.Stage limits, MeterRegistry meterRegistry) {
+        int maxConcurrency = limits.effectiveMaxConcurrency();
+        log.info("Invoice pipeline stage configured. stage={}, maxConcurrency={}", name, maxConcurrency);
+        return new PipelineStage(name, maxConcurrency, newExecutor("invoice-" + name + "-", maxConcurrency), meterRegistry);
+    }
+
+    /**
+     * Virtual mode: a thread per invoice, the stage's semaphore does the bounding.
+     * Platform mode: a fixed pool of maxConcurrency threads per stage.
+     */
+    private Executor newExecutor(String threadNamePrefix, int maxConcurrency) {
+        if (threadModeProperties.getMode() == ThreadMode.VIRTUAL) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix + "vt-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.initialize();
+        platformExecutors.add(executor);
+        return executor;
+    }
 
-        } catch (Exception ex) {
-            invoice.setStatus(InvoiceStatus.FAILED);
-            invoice.setFailureReason(ex.getMessage());
+    @PreDestroy
+    void shutdown() {
+        platformExecutors.forEach(ThreadPoolTaskExecutor::shutdown);
+        if (recoveryScheduler != null) {
+            recoveryScheduler.shutdown();
         }
+    }
 
-        invoiceRepository.save(invoice);
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete spooled invoice document. file={}", file, ex);
+        }
+    }
+
+    /**
+     * State carried from stage to stage; document is the spooled rendering between render and store.
+     */
+    private record InvoiceJob(
+            InvoiceEntity invoice,
+            Instant claimedAt,
+            OrderDetailsModel order,
+            Path document,
+            String pdfUrl
+    ) {
+    }
+
+    /**
+     * The invoice was not REQUESTED (already running, finished, or unknown).
+     */
+    private static class NotClaimedException extends IllegalStateException {
+
+        NotClaimedException(UUID invoiceId) {
+            super("Invoice not claimable: " + invoiceId);
+        }
     }
 }
@@ -0,0 +1,20 @@
+package com.example.invoice_service.services;
+
+import com.example.invoice_service.entity.InvoiceEntity;
+import com.example.invoice_service.models.OrderDetailsModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface InvoiceRenderer {
+
+    /**
+     * Renders the invoice document for an order, writing it to {@code out} as it is produced.
+     */
+    void render(InvoiceEntity invoice, OrderDetailsModel order, OutputStream out) throws IOException;
+
+    /**
+     * Content type of the rendered document.
+     */
+    String contentType();
+}
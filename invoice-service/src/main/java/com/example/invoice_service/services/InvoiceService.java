@@ -1,8 +1,10 @@
 package com.example.invoice_service.services;
 
+import com.example.invoice_service.models.InvoiceDocument;
 import com.example.invoice_service.models.InvoiceRequestModel;
 import com.example.invoice_service.models.InvoiceResponseModel;
 
+import java.io.IOException;
 import java.util.UUID;
 
 public interface InvoiceService {
@@ -22,4 +24,9 @@ public interface InvoiceService {
      * Fetches invoice details including download URL if available.
      */
     InvoiceResponseModel getInvoiceById(UUID invoiceId);
+
+    /**
+     * Opens the generated document of a COMPLETED invoice for download.
+     */
+    InvoiceDocument openInvoiceDocument(UUID invoiceId) throws IOException;
 }
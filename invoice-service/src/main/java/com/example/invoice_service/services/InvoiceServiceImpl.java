@@ -4,12 +4,20 @@ import com.example.invoice_service.Repository.InvoiceRepository;
 import com.example.invoice_service.entity.InvoiceEntity;
 import com.example.invoice_service.entity.InvoiceStatus;
 import com.example.invoice_service.mappers.InvoiceMapper;
+import com.example.invoice_service.models.InvoiceDocument;
 import com.example.invoice_service.models.InvoiceRequestModel;
+import com.example.invoice_service.models.InvoiceRequestedEvent;
 import com.example.invoice_service.models.InvoiceResponseModel;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -18,8 +26,16 @@ import java.util.UUID;
 public class InvoiceServiceImpl implements InvoiceService {
 
     private final InvoiceRepository invoiceRepository;
-    private final InvoiceGenerationService invoiceGenerationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InvoiceStorage invoiceStorage;
 
+    @Value("${invoice.currency:USD}")
+    private String currency;
+
+    /**
+     * Only records the request; generation runs in the background pipeline
+     * (see {@link InvoiceGenerationService}) once this transaction commits.
+     */
     @Override
     @Transactional
     public InvoiceResponseModel generateInvoice(InvoiceRequestModel request) {
@@ -29,11 +45,7 @@ public class InvoiceServiceImpl implements InvoiceService {
                 .orElseGet(() -> createNewInvoice(request));
 
         if (invoice.getStatus() == InvoiceStatus.REQUESTED) {
-            invoice.setStatus(InvoiceStatus.GENERATING);
-            invoiceRepository.save(invoice);
-
-            // Blocking call – safe with Virtual Threads
-            invoiceGenerationService.generateInvoice(invoice);
+            eventPublisher.publishEvent(new InvoiceRequestedEvent(invoice.getId()));
         }
 
         return InvoiceMapper.toResponse(invoice);
@@ -59,11 +71,29 @@ public class InvoiceServiceImpl implements InvoiceService {
         return InvoiceMapper.toResponse(invoice);
     }
 
+    /**
+     * Not transactional: the storage lookup may be a remote call and must not hold a connection.
+     */
+    @Override
+    public InvoiceDocument openInvoiceDocument(UUID invoiceId) throws IOException {
+        InvoiceEntity invoice = invoiceRepository
+                .findById(invoiceId)
+                .orElseThrow(() -> new IllegalArgumentException("Invoice not found"));
+
+        if (invoice.getStatus() != InvoiceStatus.COMPLETED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Invoice not generated yet. status=" + invoice.getStatus());
+        }
+        return invoiceStorage.open(invoice);
+    }
+
     private InvoiceEntity createNewInvoice(InvoiceRequestModel request) {
         InvoiceEntity invoice = InvoiceEntity.builder()
                 .orderId(request.getOrderId())
                 .invoiceNumber(generateInvoiceNumber())
                 .status(InvoiceStatus.REQUESTED)
+                .currency(currency)
+                // filled in from the order by the pipeline
+                .totalAmount(BigDecimal.ZERO)
                 .requestedAt(Instant.now())
                 .build();
 
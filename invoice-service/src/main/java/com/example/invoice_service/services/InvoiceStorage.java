@@ -0,0 +1,21 @@
+package com.example.invoice_service.services;
+
+import com.example.invoice_service.entity.InvoiceEntity;
+import com.example.invoice_service.models.InvoiceDocument;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface InvoiceStorage {
+
+    /**
+     * Stores a rendered invoice document and returns the location it can be fetched from.
+     * The spooled {@code document} is owned by the caller and deleted afterwards.
+     */
+    String store(InvoiceEntity invoice, Path document, String contentType) throws IOException;
+
+    /**
+     * Opens the document stored for a generated invoice (at its {@code pdfUrl}).
+     */
+    InvoiceDocument open(InvoiceEntity invoice) throws IOException;
+}
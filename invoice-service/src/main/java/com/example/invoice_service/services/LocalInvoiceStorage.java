@@ -0,0 +1,41 @@
+package com.example.invoice_service.services;
+
+import com.example.invoice_service.configuration.InvoiceStorageProperties;
+import com.example.invoice_service.entity.InvoiceEntity;
+import com.example.invoice_service.models.InvoiceDocument;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Keeps invoice documents in a local directory, one file per invoice number
+ * ({@code invoice.storage.type=local}).
+ */
+@RequiredArgsConstructor
+public class LocalInvoiceStorage implements InvoiceStorage {
+
+    private final InvoiceStorageProperties properties;
+
+    @Override
+    public String store(InvoiceEntity invoice, Path document, String contentType) throws IOException {
+        Path dir = Files.createDirectories(properties.getLocalDir());
+        Path target = dir.resolve(invoice.getInvoiceNumber());
+        Files.copy(document, target, StandardCopyOption.REPLACE_EXISTING);
+        return target.toUri().toString();
+    }
+
+    @Override
+    public InvoiceDocument open(InvoiceEntity invoice) throws IOException {
+        Path document = Path.of(URI.create(invoice.getPdfUrl()));
+        BasicFileAttributes attributes = Files.readAttributes(document, BasicFileAttributes.class);
+        // regenerating rewrites the file, so size + mtime identify the content
+        String eTag = "\"" + Long.toHexString(attributes.size()) + "-"
+                + Long.toHexString(attributes.lastModifiedTime().toMillis()) + "\"";
+        return new InvoiceDocument.LocalFile(document, attributes.size(), eTag);
+    }
+}
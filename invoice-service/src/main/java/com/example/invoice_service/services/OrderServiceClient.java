@@ -0,0 +1,30 @@
+package com.example.invoice_service.services;
+
+import com.example.invoice_service.models.OrderDetailsModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.UUID;
+
+/**
+ * Blocking order-service lookup used by the pipeline's fetch stage.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderServiceClient {
+
+    private final RestClient orderServiceRestClient;
+
+    public OrderDetailsModel getOrder(UUID orderId) {
+        OrderDetailsModel order = orderServiceRestClient.get()
+                .uri("/v1/orders/{orderId}", orderId)
+                .retrieve()
+                .body(OrderDetailsModel.class);
+
+        if (order == null) {
+            throw new IllegalStateException("Empty order response for " + orderId);
+        }
+        return order;
+    }
+}
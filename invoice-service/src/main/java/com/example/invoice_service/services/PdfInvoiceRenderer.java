@@ -0,0 +1,142 @@
+package com.example.invoice_service.services;
+
+import com.example.invoice_service.configuration.InvoiceRenderProperties;
+import com.example.invoice_service.entity.InvoiceEntity;
+import com.example.invoice_service.models.OrderDetailsModel;
+import com.example.invoice_service.utils.InvoiceTemplate;
+import com.example.invoice_service.utils.InvoiceTemplateCompiler;
+import com.lowagie.text.Document;
+import com.lowagie.text.pdf.PdfContentByte;
+import com.lowagie.text.pdf.PdfWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Renders invoices as PDF from the precompiled layout.
+ * <p>
+ * Text is placed directly on the page canvas (no layout engine), and PdfWriter writes
+ * each finished page to the output stream; only the current page is held in memory,
+ * so long invoices stream straight into the spool file. The header is drawn on the first
+ * page only; column headings and their rules are repeated above the rows of every page.
+ */
+@Component
+@Slf4j
+public class PdfInvoiceRenderer implements InvoiceRenderer {
+
+    private final InvoiceTemplate template;
+
+    @Autowired
+    public PdfInvoiceRenderer(InvoiceRenderProperties properties) throws IOException {
+        try (Reader layout = new InputStreamReader(properties.getTemplate().getInputStream(), StandardCharsets.UTF_8)) {
+            this.template = InvoiceTemplateCompiler.compile(layout);
+        }
+        log.info("Invoice layout compiled. template={}", properties.getTemplate().getDescription());
+    }
+
+    public PdfInvoiceRenderer(InvoiceTemplate template) {
+        this.template = template;
+    }
+
+    @Override
+    public void render(InvoiceEntity invoice, OrderDetailsModel order, OutputStream out) {
+        Document document = new Document(template.pageSize(), 0, 0, 0, 0);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        // the caller owns the sink
+        writer.setCloseStream(false);
+        document.open();
+
+        PdfContentByte canvas = writer.getDirectContent();
+        InvoiceTemplate.Context context = new InvoiceTemplate.Context(invoice, order);
+        InvoiceTemplate.Rows rows = template.rows();
+
+        stroke(canvas, template.rules(), 0);
+        stroke(canvas, template.headingRules(), rows.firstY());
+
+        canvas.beginText();
+        for (InvoiceTemplate.Text<InvoiceTemplate.Context> text : template.header()) {
+            show(canvas, text, text.content().apply(context), text.y());
+        }
+        headings(canvas, context, rows.firstY());
+
+        float y = rows.firstY();
+        List<OrderDetailsModel.Line> lines = order.getProducts() != null ? order.getProducts() : List.of();
+        for (OrderDetailsModel.Line line : lines) {
+            if (y < rows.bottomY()) {
+                y = nextPage(document, canvas, context);
+            }
+            for (InvoiceTemplate.Text<OrderDetailsModel.Line> column : template.columns()) {
+                show(canvas, column, column.content().apply(line), y);
+            }
+            y -= rows.rowHeight();
+        }
+
+        // summary offsets are relative to the last row's baseline
+        float lastRow = y + rows.rowHeight();
+        if (lastRow + template.summaryDepth() < rows.bottomY()) {
+            lastRow = nextPage(document, canvas, context);
+        }
+        for (InvoiceTemplate.Text<InvoiceTemplate.Context> text : template.summary()) {
+            show(canvas, text, text.content().apply(context), lastRow + text.y());
+        }
+        canvas.endText();
+
+        document.close();
+    }
+
+    @Override
+    public String contentType() {
+        return "application/pdf";
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    private float nextPage(Document document, PdfContentByte canvas, InvoiceTemplate.Context context) {
+        canvas.endText();
+        // flushes the finished page to the output stream
+        document.newPage();
+
+        float firstRow = template.rows().continueY();
+        stroke(canvas, template.headingRules(), firstRow);
+        canvas.beginText();
+        headings(canvas, context, firstRow);
+        return firstRow;
+    }
+
+    /**
+     * Outside a text object only.
+     */
+    private static void stroke(PdfContentByte canvas, List<InvoiceTemplate.Rule> rules, float offsetY) {
+        if (rules.isEmpty()) {
+            return;
+        }
+        for (InvoiceTemplate.Rule rule : rules) {
+            canvas.moveTo(rule.x1(), offsetY + rule.y());
+            canvas.lineTo(rule.x2(), offsetY + rule.y());
+        }
+        canvas.stroke();
+    }
+
+    private void headings(PdfContentByte canvas, InvoiceTemplate.Context context, float firstRow) {
+        for (InvoiceTemplate.Text<InvoiceTemplate.Context> text : template.headings()) {
+            show(canvas, text, text.content().apply(context), firstRow + text.y());
+        }
+    }
+
+    private static void show(PdfContentByte canvas, InvoiceTemplate.Text<?> text, String content, float y) {
+        if (content == null) {
+            return;
+        }
+        canvas.setFontAndSize(text.font(), text.size());
+        canvas.showTextAligned(text.alignment(), content, text.x(), y, 0);
+    }
+}
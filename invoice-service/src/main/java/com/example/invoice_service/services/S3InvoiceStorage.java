@@ -0,0 +1,373 @@
+package com.example.invoice_service.services;
+
+import com.example.invoice_service.configuration.InvoiceStorageProperties;
+import com.example.invoice_service.configuration.ThreadMode;
+import com.example.invoice_service.configuration.ThreadModeProperties;
+import com.example.invoice_service.entity.InvoiceEntity;
+import com.example.invoice_service.models.InvoiceDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Stores invoice documents in an S3-compatible bucket ({@code invoice.storage.type=s3}).
+ * <p>
+ * - Keys are content-addressed ({@code <keyPrefix><sha-256>}): a document that is
+ * already stored (e.g. a regenerated invoice) is not uploaded again.
+ * - Small documents go up with one PUT straight from the spool file.
+ * - Larger ones are streamed as a multipart upload: the file is read part by part into
+ * pooled buffers while earlier parts are still uploading. A global budget of
+ * {@code maxBufferedParts} buffers caps both memory and parallel part uploads, so
+ * reading waits for uploads instead of pulling the whole file into heap.
+ * - Each part is retried on its own; an upload that still fails is aborted so the
+ * bucket does not keep its parts.
+ */
+@Slf4j
+public class S3InvoiceStorage implements InvoiceStorage, AutoCloseable {
+
+    /**
+     * S3's lower bound for every part but the last.
+     */
+    static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private static final String LOCATION_SCHEME = "s3://";
+
+    private final S3Client s3;
+    private final InvoiceStorageProperties.S3 properties;
+    private final int partSize;
+
+    private final Semaphore partBudget;
+    private final Queue<byte[]> freeBuffers = new ConcurrentLinkedQueue<>();
+    private final Executor partExecutor;
+    private final ThreadPoolTaskExecutor platformPartExecutor;
+
+    private final Timer singleUploads;
+    private final Timer multipartUploads;
+    private final Counter deduplicated;
+    private final Counter partRetries;
+
+    public S3InvoiceStorage(
+            S3Client s3,
+            InvoiceStorageProperties.S3 properties,
+            ThreadModeProperties threadModeProperties,
+            MeterRegistry meterRegistry
+    ) {
+        long configuredPartSize = properties.getPartSize().toBytes();
+        if (configuredPartSize < MIN_PART_SIZE || configuredPartSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("invoice.storage.s3.part-size must be between 5MB and 2GB, was " + properties.getPartSize());
+        }
+        if (properties.getMaxBufferedParts() < 1) {
+            throw new IllegalStateException("invoice.storage.s3.max-buffered-parts must be at least 1");
+        }
+
+        this.s3 = s3;
+        this.properties = properties;
+        this.partSize = (int) configuredPartSize;
+        this.partBudget = new Semaphore(properties.getMaxBufferedParts());
+
+        if (threadModeProperties.getMode() == ThreadMode.VIRTUAL) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("invoice-upload-vt-");
+            executor.setVirtualThreads(true);
+            this.partExecutor = executor;
+            this.platformPartExecutor = null;
+        } else {
+            // never more parts in flight than buffers
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setThreadNamePrefix("invoice-upload-");
+            executor.setCorePoolSize(properties.getMaxBufferedParts());
+            executor.setMaxPoolSize(properties.getMaxBufferedParts());
+            executor.initialize();
+            this.partExecutor = executor;
+            this.platformPartExecutor = executor;
+        }
+
+        this.singleUploads = Timer.builder("invoice.storage.upload")
+                .tag("mode", "single")
+                .register(meterRegistry);
+        this.multipartUploads = Timer.builder("invoice.storage.upload")
+                .tag("mode", "multipart")
+                .register(meterRegistry);
+        this.deduplicated = Counter.builder("invoice.storage.deduplicated")
+                .description("Documents already present in the bucket")
+                .register(meterRegistry);
+        this.partRetries = Counter.builder("invoice.storage.part.retries")
+                .register(meterRegistry);
+        Gauge.builder("invoice.storage.parts.buffered", partBudget, budget -> properties.getMaxBufferedParts() - budget.availablePermits())
+                .description("Part buffers currently filled or uploading")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the bucket if it is missing.
+     */
+    public void ensureBucket() {
+        try {
+            s3.headBucket(request -> request.bucket(properties.getBucket()));
+        } catch (S3Exception ex) {
+            if (ex.statusCode() != 404) {
+                throw ex;
+            }
+            s3.createBucket(request -> request.bucket(properties.getBucket()));
+            log.info("Invoice bucket created. bucket={}", properties.getBucket());
+        }
+    }
+
+    @Override
+    public String store(InvoiceEntity invoice, Path document, String contentType) throws IOException {
+        String key = properties.getKeyPrefix() + sha256(document);
+        String location = LOCATION_SCHEME + properties.getBucket() + "/" + key;
+
+        if (exists(key)) {
+            deduplicated.increment();
+            log.debug("Invoice document already stored. invoiceNumber={}, key={}", invoice.getInvoiceNumber(), key);
+            return location;
+        }
+
+        long size = Files.size(document);
+        long start = System.nanoTime();
+        if (size <= partSize) {
+            withRetries(() -> s3.putObject(
+                    request -> request.bucket(properties.getBucket()).key(key).contentType(contentType),
+                    RequestBody.fromFile(document)
+            ));
+            singleUploads.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } else {
+            multipartUpload(key, document, contentType);
+            multipartUploads.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        log.debug("Invoice document stored. invoiceNumber={}, key={}, bytes={}", invoice.getInvoiceNumber(), key, size);
+        return location;
+    }
+
+    /**
+     * The key already is the content hash, so it doubles as the ETag; only the
+     * length needs a HEAD. Ranges are fetched with ranged GETs.
+     */
+    @Override
+    public InvoiceDocument open(InvoiceEntity invoice) throws IOException {
+        String location = invoice.getPdfUrl();
+        String bucketAndKey = location.startsWith(LOCATION_SCHEME) ? location.substring(LOCATION_SCHEME.length()) : "";
+        int slash = bucketAndKey.indexOf('/');
+        if (slash < 1) {
+            throw new IllegalStateException("Not an object storage location: " + location);
+        }
+        String bucket = bucketAndKey.substring(0, slash);
+        String key = bucketAndKey.substring(slash + 1);
+
+        long length = withRetries(() -> s3.headObject(request -> request.bucket(bucket).key(key))).contentLength();
+        String eTag = "\"" + key.substring(key.lastIndexOf('/') + 1) + "\"";
+        return new InvoiceDocument.Remote(length, eTag, (start, end) -> s3.getObject(request -> request
+                .bucket(bucket)
+                .key(key)
+                .range("bytes=" + start + "-" + end)));
+    }
+
+    @Override
+    public void close() {
+        if (platformPartExecutor != null) {
+            platformPartExecutor.shutdown();
+        }
+        s3.close();
+    }
+
+    /* =========================================================
+       MULTIPART
+       ========================================================= */
+
+    private void multipartUpload(String key, Path document, String contentType) throws IOException {
+        String uploadId = withRetries(() -> s3.createMultipartUpload(
+                request -> request.bucket(properties.getBucket()).key(key).contentType(contentType)
+        )).uploadId();
+
+        List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+        try {
+            try (InputStream in = Files.newInputStream(document)) {
+                for (int partNumber = 1; ; partNumber++) {
+                    // a failed part fails the upload; stop reading the rest of the file
+                    if (parts.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                        break;
+                    }
+                    byte[] buffer = acquireBuffer();
+                    int length;
+                    try {
+                        length = in.readNBytes(buffer, 0, partSize);
+                    } catch (IOException | RuntimeException ex) {
+                        releaseBuffer(buffer);
+                        throw ex;
+                    }
+                    if (length == 0) {
+                        releaseBuffer(buffer);
+                        break;
+                    }
+                    parts.add(uploadPart(key, uploadId, partNumber, buffer, length));
+                    if (length < partSize) {
+                        break;
+                    }
+                }
+            }
+
+            List<CompletedPart> completed = new ArrayList<>(parts.size());
+            for (CompletableFuture<CompletedPart> part : parts) {
+                completed.add(part.join());
+            }
+            withRetries(() -> s3.completeMultipartUpload(request -> request
+                    .bucket(properties.getBucket())
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(upload -> upload.parts(completed))
+            ));
+        } catch (CompletionException ex) {
+            abort(key, uploadId, parts);
+            if (ex.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        } catch (IOException | RuntimeException ex) {
+            abort(key, uploadId, parts);
+            throw ex;
+        }
+    }
+
+    private CompletableFuture<CompletedPart> uploadPart(String key, String uploadId, int partNumber, byte[] buffer, int length) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                // content provider instead of fromBytes: the SDK would copy the whole part
+                RequestBody body = RequestBody.fromContentProvider(
+                        () -> new ByteArrayInputStream(buffer, 0, length), length, "application/octet-stream"
+                );
+                String eTag = withRetries(() -> s3.uploadPart(request -> request
+                        .bucket(properties.getBucket())
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) length), body)).eTag();
+                return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+            } catch (InterruptedIOException ex) {
+                throw new CompletionException(ex);
+            } finally {
+                releaseBuffer(buffer);
+            }
+        }, partExecutor);
+    }
+
+    private void abort(String key, String uploadId, List<CompletableFuture<CompletedPart>> parts) {
+        // let in-flight parts finish first so their buffers are back in the pool
+        parts.forEach(part -> part.exceptionally(failure -> null).join());
+        try {
+            s3.abortMultipartUpload(request -> request.bucket(properties.getBucket()).key(key).uploadId(uploadId));
+        } catch (SdkException ex) {
+            log.warn("Could not abort multipart upload. key={}, uploadId={}", key, uploadId, ex);
+        }
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    private byte[] acquireBuffer() throws InterruptedIOException {
+        try {
+            partBudget.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for an upload buffer");
+        }
+        byte[] buffer = freeBuffers.poll();
+        return buffer != null ? buffer : new byte[partSize];
+    }
+
+    private void releaseBuffer(byte[] buffer) {
+        freeBuffers.offer(buffer);
+        partBudget.release();
+    }
+
+    /**
+     * Retries transport failures, throttling and 5xx with exponential backoff;
+     * other errors (auth, missing bucket, ...) fail at once.
+     */
+    private <T> T withRetries(Supplier<T> call) throws InterruptedIOException {
+        long backoff = properties.getRetryBackoff().toMillis();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return call.get();
+            } catch (SdkException ex) {
+                if (attempt >= properties.getPartRetries() || !isRetryable(ex)) {
+                    throw ex;
+                }
+                partRetries.increment();
+                log.debug("S3 request failed, retrying. attempt={}, backoffMs={}", attempt + 1, backoff, ex);
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted between S3 retries");
+            }
+            backoff *= 2;
+        }
+    }
+
+    private static boolean isRetryable(SdkException ex) {
+        if (ex instanceof S3Exception s3Exception) {
+            return s3Exception.statusCode() >= 500 || s3Exception.statusCode() == 429;
+        }
+        return ex instanceof SdkClientException;
+    }
+
+    private boolean exists(String key) throws InterruptedIOException {
+        try {
+            withRetries(() -> s3.headObject(request -> request.bucket(properties.getBucket()).key(key)));
+            return true;
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 404) {
+                return false;
+            }
+            throw ex;
+        }
+    }
+
+    private static String sha256(Path document) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(document), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
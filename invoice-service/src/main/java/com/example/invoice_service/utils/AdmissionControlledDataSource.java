@@ -0,0 +1,71 @@
+package com.example.invoice_service.utils;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource that holds a {@link ConnectionAdmissionControl} permit for exactly as long
+ * as a connection is checked out: acquired in getConnection(), released on close().
+ */
+public class AdmissionControlledDataSource extends DelegatingDataSource {
+
+    private final ConnectionAdmissionControl admission;
+
+    public AdmissionControlledDataSource(DataSource targetDataSource, ConnectionAdmissionControl admission) {
+        super(targetDataSource);
+        this.admission = admission;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        admission.acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            admission.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        admission.acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            admission.release();
+            throw ex;
+        }
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    private Connection releasingOnClose(Connection target) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    boolean close = method.getName().equals("close") && method.getParameterCount() == 0;
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    } finally {
+                        // close() may be called more than once; release the permit only once
+                        if (close && released.compareAndSet(false, true)) {
+                            admission.release();
+                        }
+                    }
+                }
+        );
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.invoice_service.utils;
+
+import com.example.invoice_service.configuration.InvoiceDownloadProperties;
+import com.example.invoice_service.models.InvoiceDocument;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes an invoice document to the servlet response with HTTP caching and range support:
+ * <p>
+ * - ETag + Cache-Control on every response; If-None-Match answers 304
+ * - a single {@code Range: bytes=...} answers 206 (If-Range honoured); unsatisfiable 416;
+ * multi-range or malformed headers are ignored and the whole document is sent (RFC 9110)
+ * <p>
+ * Local files are handed to Tomcat's sendfile (kernel copy from the page cache to the
+ * socket) when the connector supports it, else copied with {@link FileChannel#transferTo}.
+ * Mapped documents are written from their mapping. Remote documents are streamed in
+ * small chunks for just the requested range. No path holds the document in heap.
+ */
+@Component
+public class InvoiceDocumentWriter {
+
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    static final long[] UNSATISFIABLE = new long[0];
+
+    private final String cacheControl;
+
+    public InvoiceDocumentWriter(InvoiceDownloadProperties properties) {
+        this.cacheControl = CacheControl.maxAge(properties.getCacheMaxAge())
+                .cachePrivate()
+                .getHeaderValue();
+    }
+
+    public void write(
+            InvoiceDocument document,
+            String contentType,
+            String fileName,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        String eTag = document.eTag();
+        long length = document.length();
+
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeApplies(request.getHeader(HttpHeaders.IF_RANGE), eTag)) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == UNSATISFIABLE) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds != null) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline().filename(fileName).build().toString());
+        response.setContentLengthLong(count);
+
+        if (count == 0 || HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        switch (document) {
+            case InvoiceDocument.LocalFile file -> writeFile(file, start, count, request, response);
+            // Tomcat copies straight from the mapping into its socket buffer
+            case InvoiceDocument.Mapped mapped -> response.getOutputStream()
+                    .write(mapped.content().slice((int) start, (int) count));
+            case InvoiceDocument.Remote remote -> {
+                try (InputStream in = remote.reader().open(start, end)) {
+                    in.transferTo(response.getOutputStream());
+                }
+            }
+        }
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    private static void writeFile(
+            InvoiceDocument.LocalFile file,
+            long start,
+            long count,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat writes the file after the handler returns
+            request.setAttribute(SENDFILE_FILENAME, file.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    throw new IOException("Invoice document shrank while being sent: " + file.path());
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    /**
+     * @return inclusive bounds, {@link #UNSATISFIABLE}, or null to ignore the header
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).strip();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).strip();
+            String last = spec.substring(dash + 1).strip();
+            if (first.isEmpty()) {
+                // suffix: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (end < start) {
+                return null;
+            }
+            return start >= length ? UNSATISFIABLE : new long[]{start, Math.min(end, length - 1)};
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            // weak comparison, as If-None-Match requires
+            if (tag.equals("*") || stripWeak(tag).equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-Range needs a strong match; a date or another tag means the client's copy is stale.
+     */
+    private static boolean rangeApplies(String ifRange, String eTag) {
+        return ifRange == null || ifRange.strip().equals(eTag);
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
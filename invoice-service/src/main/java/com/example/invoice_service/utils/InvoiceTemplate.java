@@ -0,0 +1,60 @@
+package com.example.invoice_service.utils;
+
+import com.example.invoice_service.entity.InvoiceEntity;
+import com.example.invoice_service.models.OrderDetailsModel;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.BaseFont;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compiled invoice layout: fonts resolved, placeholders bound to accessors, positions
+ * parsed. Immutable and shared by all renders; produced by {@link InvoiceTemplateCompiler}.
+ */
+public record InvoiceTemplate(
+        Rectangle pageSize,
+        List<Rule> rules,
+        List<Text<Context>> header,
+        List<Rule> headingRules,
+        List<Text<Context>> headings,
+        Rows rows,
+        List<Text<OrderDetailsModel.Line>> columns,
+        List<Text<Context>> summary
+) {
+
+    /**
+     * Lowest summary offset below the last row; the summary moves to a new page if it would not fit.
+     */
+    public float summaryDepth() {
+        return (float) summary.stream().mapToDouble(Text::y).min().orElse(0);
+    }
+
+    /**
+     * What header and summary placeholders are resolved against.
+     */
+    public record Context(InvoiceEntity invoice, OrderDetailsModel order) {
+    }
+
+    /**
+     * A text run; {@code content} returns null when every placeholder in it was empty.
+     */
+    public record Text<T>(
+            BaseFont font,
+            float size,
+            int alignment,
+            float x,
+            float y,
+            Function<T, String> content
+    ) {
+    }
+
+    /**
+     * A horizontal line; for heading rules {@code y} is the offset from the page's first row.
+     */
+    public record Rule(float x1, float x2, float y) {
+    }
+
+    public record Rows(float firstY, float rowHeight, float bottomY, float continueY) {
+    }
+}
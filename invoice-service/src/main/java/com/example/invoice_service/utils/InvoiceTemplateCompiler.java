@@ -0,0 +1,265 @@
+package com.example.invoice_service.utils;
+
+import com.example.invoice_service.models.OrderDetailsModel;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.PdfContentByte;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.Map.entry;
+
+/**
+ * Parses the line-based invoice layout (see templates/invoice.layout) into an
+ * {@link InvoiceTemplate}. Runs once at startup: unknown directives, fonts or
+ * placeholders fail here instead of on the first invoice.
+ */
+public final class InvoiceTemplateCompiler {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ISO_LOCAL_DATE.withZone(ZoneOffset.UTC);
+
+    private static final Map<String, Function<InvoiceTemplate.Context, Object>> FIELDS = Map.ofEntries(
+            entry("invoiceNumber", c -> c.invoice().getInvoiceNumber()),
+            entry("orderId", c -> c.order().getOrderId()),
+            entry("invoiceDate", c -> c.invoice().getRequestedAt() != null ? DATE.format(c.invoice().getRequestedAt()) : null),
+            entry("currency", c -> c.invoice().getCurrency()),
+            entry("total", c -> money(c.order().getTotalAmount())),
+            entry("address.line1", c -> address(c, OrderDetailsModel.Address::getLine1)),
+            entry("address.line2", c -> address(c, OrderDetailsModel.Address::getLine2)),
+            entry("address.city", c -> address(c, OrderDetailsModel.Address::getCity)),
+            entry("address.state", c -> address(c, OrderDetailsModel.Address::getState)),
+            entry("address.postalCode", c -> address(c, OrderDetailsModel.Address::getPostalCode)),
+            entry("address.country", c -> address(c, OrderDetailsModel.Address::getCountry))
+    );
+
+    private static final Map<String, Function<OrderDetailsModel.Line, Object>> LINE_FIELDS = Map.ofEntries(
+            entry("line.productId", OrderDetailsModel.Line::getProductId),
+            entry("line.quantity", OrderDetailsModel.Line::getQuantity),
+            entry("line.unitPrice", line -> money(line.getUnitPrice())),
+            entry("line.lineTotal", line -> money(line.getLineTotal()))
+    );
+
+    private InvoiceTemplateCompiler() {
+        // utility class
+    }
+
+    public static InvoiceTemplate compile(Reader layout) throws IOException {
+        return new Parser().parse(new BufferedReader(layout));
+    }
+
+    /* =========================================================
+       PARSER
+       ========================================================= */
+
+    private static final class Parser {
+
+        private final Map<String, Font> fonts = new HashMap<>();
+        private final List<InvoiceTemplate.Rule> rules = new ArrayList<>();
+        private final List<InvoiceTemplate.Text<InvoiceTemplate.Context>> header = new ArrayList<>();
+        private final List<InvoiceTemplate.Rule> headingRules = new ArrayList<>();
+        private final List<InvoiceTemplate.Text<InvoiceTemplate.Context>> headings = new ArrayList<>();
+        private final List<InvoiceTemplate.Text<OrderDetailsModel.Line>> columns = new ArrayList<>();
+        private final List<InvoiceTemplate.Text<InvoiceTemplate.Context>> summary = new ArrayList<>();
+        private Rectangle pageSize;
+        private InvoiceTemplate.Rows rows;
+
+        private int lineNumber;
+
+        private InvoiceTemplate parse(BufferedReader reader) throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                directive(trimmed);
+            }
+
+            if (pageSize == null || rows == null) {
+                throw new IllegalStateException("Invoice layout needs a 'page' and a 'rows' directive");
+            }
+            return new InvoiceTemplate(
+                    pageSize, List.copyOf(rules), List.copyOf(header), List.copyOf(headingRules), List.copyOf(headings),
+                    rows, List.copyOf(columns), List.copyOf(summary)
+            );
+        }
+
+        private void directive(String line) {
+            String[] head = line.split("\\s+", 2);
+            String args = head.length > 1 ? head[1] : "";
+            switch (head[0]) {
+                case "page" -> {
+                    String[] a = split(args, 2, 2);
+                    pageSize = new Rectangle(number(a[0]), number(a[1]));
+                }
+                case "font" -> {
+                    String[] a = split(args, 3, 3);
+                    fonts.put(a[0], new Font(baseFont(a[1]), number(a[2])));
+                }
+                case "text" -> {
+                    String[] a = split(args, 5, 5);
+                    header.add(text(a[0], a[1], a[2], a[3], a[4], FIELDS));
+                }
+                case "rule" -> {
+                    String[] a = split(args, 3, 3);
+                    rules.add(new InvoiceTemplate.Rule(number(a[0]), number(a[1]), number(a[2])));
+                }
+                case "heading" -> {
+                    String[] a = split(args, 5, 5);
+                    headings.add(text(a[0], a[1], a[2], a[3], a[4], FIELDS));
+                }
+                case "heading-rule" -> {
+                    String[] a = split(args, 3, 3);
+                    headingRules.add(new InvoiceTemplate.Rule(number(a[0]), number(a[1]), number(a[2])));
+                }
+                case "rows" -> {
+                    String[] a = split(args, 4, 4);
+                    rows = new InvoiceTemplate.Rows(number(a[0]), number(a[1]), number(a[2]), number(a[3]));
+                }
+                case "column" -> {
+                    String[] a = split(args, 4, 4);
+                    columns.add(text(a[0], a[1], a[2], "0", a[3], LINE_FIELDS));
+                }
+                case "summary" -> {
+                    String[] a = split(args, 5, 5);
+                    summary.add(text(a[0], a[1], a[2], a[3], a[4], FIELDS));
+                }
+                default -> throw error("unknown directive '" + head[0] + "'");
+            }
+        }
+
+        private <T> InvoiceTemplate.Text<T> text(
+                String fontId,
+                String alignment,
+                String x,
+                String y,
+                String template,
+                Map<String, Function<T, Object>> fields
+        ) {
+            Font font = fonts.get(fontId);
+            if (font == null) {
+                throw error("font '" + fontId + "' is not declared");
+            }
+            int align = switch (alignment) {
+                case "left" -> PdfContentByte.ALIGN_LEFT;
+                case "right" -> PdfContentByte.ALIGN_RIGHT;
+                default -> throw error("alignment must be left or right, was '" + alignment + "'");
+            };
+            return new InvoiceTemplate.Text<>(font.base(), font.size(), align, number(x), number(y), content(template, fields));
+        }
+
+        /**
+         * Splits "Total {total} {currency}" into literal and field segments once; rendering
+         * only concatenates. Null fields render as empty; a run whose fields are all empty
+         * yields null and is skipped.
+         */
+        private <T> Function<T, String> content(String template, Map<String, Function<T, Object>> fields) {
+            List<String> literals = new ArrayList<>();
+            List<Function<T, Object>> accessors = new ArrayList<>();
+
+            int pos = 0;
+            while (true) {
+                int open = template.indexOf('{', pos);
+                if (open < 0) {
+                    literals.add(template.substring(pos));
+                    break;
+                }
+                int close = template.indexOf('}', open);
+                if (close < 0) {
+                    throw error("unclosed placeholder in '" + template + "'");
+                }
+                String name = template.substring(open + 1, close);
+                Function<T, Object> accessor = fields.get(name);
+                if (accessor == null) {
+                    throw error("unknown placeholder {" + name + "}");
+                }
+                literals.add(template.substring(pos, open));
+                accessors.add(accessor);
+                pos = close + 1;
+            }
+
+            if (accessors.isEmpty()) {
+                String constant = literals.getFirst();
+                return ignored -> constant;
+            }
+
+            String[] literalParts = literals.toArray(String[]::new);
+            @SuppressWarnings("unchecked")
+            Function<T, Object>[] fieldParts = accessors.toArray(Function[]::new);
+            return value -> {
+                StringBuilder out = new StringBuilder(64);
+                boolean anyValue = false;
+                for (int i = 0; i < fieldParts.length; i++) {
+                    out.append(literalParts[i]);
+                    Object field = fieldParts[i].apply(value);
+                    if (field != null && !field.toString().isBlank()) {
+                        out.append(field);
+                        anyValue = true;
+                    }
+                }
+                out.append(literalParts[fieldParts.length]);
+                return anyValue ? out.toString() : null;
+            };
+        }
+
+        private BaseFont baseFont(String name) {
+            try {
+                // standard PDF fonts: nothing embedded, one instance shared by every invoice
+                return BaseFont.createFont(name, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+            } catch (IOException | RuntimeException ex) {
+                throw error("cannot load font '" + name + "': " + ex.getMessage());
+            }
+        }
+
+        private String[] split(String args, int min, int limit) {
+            String[] parts = args.split("\\s+", limit);
+            if (args.isEmpty() || parts.length < min) {
+                throw error("expected " + min + " arguments");
+            }
+            return parts;
+        }
+
+        private float number(String value) {
+            try {
+                return Float.parseFloat(value);
+            } catch (NumberFormatException ex) {
+                throw error("'" + value + "' is not a number");
+            }
+        }
+
+        private IllegalStateException error(String message) {
+            return new IllegalStateException("Invoice layout line " + lineNumber + ": " + message);
+        }
+    }
+
+    private record Font(BaseFont base, float size) {
+    }
+
+    /* =========================================================
+       FORMATTING
+       ========================================================= */
+
+    private static String money(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).toPlainString() : null;
+    }
+
+    private static Object address(
+            InvoiceTemplate.Context context,
+            Function<OrderDetailsModel.Address, String> field
+    ) {
+        OrderDetailsModel.Address address = context.order().getAddress();
+        return address != null ? field.apply(address) : null;
+    }
+}
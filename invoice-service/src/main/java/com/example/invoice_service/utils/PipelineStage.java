@@ -0,0 +1,113 @@
+package com.example.invoice_service.utils;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * One stage of the invoice pipeline: its own executor plus a fair concurrency cap.
+ * <p>
+ * Every submitted task gets a thread right away (virtual threads are cheap), but only
+ * maxConcurrency of them run the stage's work at once; the rest park on the semaphore
+ * in arrival order. CPU-bound stages are capped at the core count while I/O stages
+ * get a high cap, and a slow stage never blocks the one feeding it.
+ */
+public class PipelineStage {
+
+    private final String name;
+    private final int maxConcurrency;
+    private final Executor executor;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final Timer waitTimer;
+    private final Timer succeeded;
+    private final Timer failed;
+
+    public PipelineStage(String name, int maxConcurrency, Executor executor, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrency, true);
+
+        Gauge.builder("invoice.pipeline.stage.active", this, PipelineStage::getActive)
+                .tag("stage", name)
+                .register(meterRegistry);
+        Gauge.builder("invoice.pipeline.stage.waiting", waiting, AtomicInteger::get)
+                .tag("stage", name)
+                .register(meterRegistry);
+        Gauge.builder("invoice.pipeline.stage.limit", this, PipelineStage::getMaxConcurrency)
+                .tag("stage", name)
+                .register(meterRegistry);
+
+        this.waitTimer = Timer.builder("invoice.pipeline.stage.wait")
+                .tag("stage", name)
+                .register(meterRegistry);
+        this.succeeded = durationTimer(meterRegistry, name, "success");
+        this.failed = durationTimer(meterRegistry, name, "failure");
+    }
+
+    /* =========================================================
+       SUBMIT
+       ========================================================= */
+
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        return CompletableFuture.supplyAsync(() -> run(work), executor);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getActive() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    private <T> T run(Supplier<T> work) {
+        long queuedAt = System.nanoTime();
+        waiting.incrementAndGet();
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for pipeline stage " + name, ex);
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        long start = System.nanoTime();
+        waitTimer.record(start - queuedAt, TimeUnit.NANOSECONDS);
+        try {
+            T result = work.get();
+            succeeded.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException ex) {
+            failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static Timer durationTimer(MeterRegistry meterRegistry, String stage, String outcome) {
+        return Timer.builder("invoice.pipeline.stage.duration")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+-- Invoice service baseline schema (prod profile; dev/test use hibernate ddl-auto)
+
+create table invoice (
+    id             uuid                        not null,
+    order_id       uuid                        not null,
+    invoice_number varchar(255)                not null,
+    status         varchar(32)                 not null,
+    pdf_url        varchar(255),
+    currency       varchar(3)                  not null,
+    total_amount   numeric(15, 2)              not null,
+    requested_at   timestamp(6) with time zone not null,
+    generated_at   timestamp(6) with time zone,
+    claimed_at     timestamp(6) with time zone,
+    failure_reason varchar(255),
+    primary key (id),
+    constraint uk_invoice_invoice_number unique (invoice_number),
+    constraint ck_invoice_status check (status in ('REQUESTED', 'GENERATING', 'COMPLETED', 'FAILED'))
+);
+
+-- invoices are looked up per order and swept by status
+create index idx_invoice_order_id on invoice (order_id);
+create index idx_invoice_status on invoice (status);
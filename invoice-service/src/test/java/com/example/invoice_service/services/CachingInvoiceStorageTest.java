@@ -0,0 +1,150 @@
+package com.example.invoice_service.services;
+
+import com.example.invoice_service.configuration.InvoiceCacheProperties;
+import com.example.invoice_service.entity.InvoiceEntity;
+import com.example.invoice_service.models.InvoiceDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingInvoiceStorageTest {
+
+    private static final int KB = 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private final InvoiceStorage delegate = mock(InvoiceStorage.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InvoiceCacheProperties properties = new InvoiceCacheProperties();
+    private CachingInvoiceStorage cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties.setDir(tempDir.resolve("cache"));
+        properties.setMaxSize(DataSize.ofKilobytes(100));
+        properties.setMmapThreshold(DataSize.ofKilobytes(16));
+        properties.setEvictionInterval(Duration.ofHours(1));
+        properties.setEvictionGrace(Duration.ZERO);
+        cache = new CachingInvoiceStorage(delegate, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        cache.close();
+    }
+
+    @Test
+    void generatedDocumentsAreServedFromTheCache() throws IOException {
+        byte[] small = bytes(8 * KB);
+        byte[] large = bytes(40 * KB);
+        when(delegate.store(any(), any(), anyString())).thenReturn("s3://invoices/x");
+        cache.store(invoice("INV-SMALL"), spool(small), "application/pdf");
+        cache.store(invoice("INV-LARGE"), spool(large), "application/pdf");
+
+        InvoiceDocument mapped = cache.open(invoice("INV-SMALL"));
+        InvoiceDocument file = cache.open(invoice("INV-LARGE"));
+
+        assertThat(mapped).isInstanceOf(InvoiceDocument.Mapped.class);
+        assertThat(content(((InvoiceDocument.Mapped) mapped).content())).isEqualTo(small);
+        assertThat(file).isInstanceOf(InvoiceDocument.LocalFile.class);
+        assertThat(Files.readAllBytes(((InvoiceDocument.LocalFile) file).path())).isEqualTo(large);
+        verify(delegate, never()).open(any());
+        assertThat(meterRegistry.get("invoice.cache.hit.ratio").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void missIsFilledFromStorageOnce() throws IOException {
+        byte[] content = bytes(8 * KB);
+        InvoiceDocument.Remote remote = new InvoiceDocument.Remote(content.length, "\"remote\"", (start, end) ->
+                new ByteArrayInputStream(Arrays.copyOfRange(content, (int) start, (int) end + 1)));
+        when(delegate.open(any())).thenReturn(remote);
+
+        InvoiceDocument first = cache.open(invoice("INV-1"));
+        InvoiceDocument second = cache.open(invoice("INV-1"));
+
+        verify(delegate, times(1)).open(any());
+        assertThat(content(((InvoiceDocument.Mapped) first).content())).isEqualTo(content);
+        assertThat(second.eTag()).isEqualTo(first.eTag());
+        assertThat(cache.hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxSize() throws IOException {
+        when(delegate.store(any(), any(), anyString())).thenReturn("s3://invoices/x");
+        for (int i = 1; i <= 3; i++) {
+            cache.store(invoice("INV-" + i), spool(bytes(30 * KB + i)), "application/pdf");
+        }
+        // INV-1 becomes the most recently used, INV-2 the eviction candidate
+        cache.open(invoice("INV-1"));
+        cache.store(invoice("INV-4"), spool(bytes(28 * KB)), "application/pdf");
+
+        cache.evict();
+
+        when(delegate.open(any())).thenReturn(new InvoiceDocument.LocalFile(Path.of("missing"), 0, "\"x\""));
+        assertThat(cache.open(invoice("INV-2"))).isInstanceOf(InvoiceDocument.LocalFile.class)
+                .extracting(InvoiceDocument::eTag).isEqualTo("\"x\"");
+        verify(delegate, times(1)).open(any());
+        try (var files = Files.list(properties.getDir())) {
+            assertThat(files.map(file -> file.getFileName().toString().split("\\.")[0]))
+                    .containsExactlyInAnyOrder("INV-1", "INV-3", "INV-4");
+        }
+    }
+
+    @Test
+    void indexSurvivesRestartAndDropsPartialWrites() throws Exception {
+        byte[] content = bytes(8 * KB);
+        when(delegate.store(any(), any(), anyString())).thenReturn("s3://invoices/x");
+        cache.store(invoice("INV-1"), spool(content), "application/pdf");
+        String eTag = cache.open(invoice("INV-1")).eTag();
+        cache.close();
+        Path partial = Files.write(properties.getDir().resolve("interrupted.tmp"), bytes(KB));
+
+        cache = new CachingInvoiceStorage(delegate, properties, meterRegistry);
+
+        assertThat(partial).doesNotExist();
+        assertThat(cache.open(invoice("INV-1")).eTag()).isEqualTo(eTag);
+        verify(delegate, never()).open(any());
+    }
+
+    private static InvoiceEntity invoice(String invoiceNumber) {
+        return InvoiceEntity.builder().invoiceNumber(invoiceNumber).build();
+    }
+
+    private Path spool(byte[] content) throws IOException {
+        return Files.write(Files.createTempFile(tempDir, "spool-", ".tmp"), content);
+    }
+
+    private static byte[] bytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] content(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.capacity()];
+        buffer.get(0, bytes);
+        return bytes;
+    }
+}
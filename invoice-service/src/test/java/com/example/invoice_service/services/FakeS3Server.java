@@ -0,0 +1,239 @@
+package com.example.invoice_service.services;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for the S3 API subset S3InvoiceStorage uses (path-style):
+ * bucket HEAD/PUT, object HEAD/PUT/ranged GET and multipart create/upload-part/complete/abort.
+ * Parts listed in {@link #failingParts} answer 500 a configurable number of times.
+ */
+class FakeS3Server implements AutoCloseable {
+
+    final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    final Set<String> abortedUploads = ConcurrentHashMap.newKeySet();
+
+    final Map<Integer, AtomicInteger> failingParts = new ConcurrentHashMap<>();
+    final AtomicInteger putObjectRequests = new AtomicInteger();
+    final AtomicInteger uploadPartRequests = new AtomicInteger();
+    final AtomicInteger maxPartsInFlight = new AtomicInteger();
+    volatile long partDelayMillis;
+
+    private final AtomicInteger partsInFlight = new AtomicInteger();
+    private final HttpServer server;
+
+    FakeS3Server() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        // platform threads: the JDK 21 server's blocking request reads stall on virtual threads
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    void failPart(int partNumber, int times) {
+        failingParts.put(partNumber, new AtomicInteger(times));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /* =========================================================
+       ROUTING
+       ========================================================= */
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = URLDecoder.decode(exchange.getRequestURI().getRawPath().substring(1), StandardCharsets.UTF_8);
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            byte[] body = body(exchange);
+            boolean isObject = path.contains("/");
+
+            switch (exchange.getRequestMethod()) {
+                case "HEAD" -> {
+                    if (isObject && !objects.containsKey(path)) {
+                        exchange.sendResponseHeaders(404, -1);
+                        return;
+                    }
+                    if (isObject) {
+                        exchange.getResponseHeaders().add("Content-Length", String.valueOf(objects.get(path).length));
+                    }
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "GET" -> {
+                    byte[] object = objects.get(path);
+                    if (object == null) {
+                        xml(exchange, 404, "<Error><Code>NoSuchKey</Code><Message>not found</Message></Error>");
+                        return;
+                    }
+                    // "bytes=<start>-<end>", the only form S3InvoiceStorage sends
+                    String[] range = exchange.getRequestHeaders().getFirst("Range").substring("bytes=".length()).split("-");
+                    int start = Integer.parseInt(range[0]);
+                    int end = Math.min(Integer.parseInt(range[1]), object.length - 1);
+                    exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + end + "/" + object.length);
+                    exchange.sendResponseHeaders(206, end - start + 1);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(object, start, end - start + 1);
+                    }
+                }
+                case "PUT" -> {
+                    if (query.containsKey("partNumber")) {
+                        uploadPart(exchange, query, body);
+                    } else {
+                        if (isObject) {
+                            putObjectRequests.incrementAndGet();
+                            objects.put(path, body);
+                            exchange.getResponseHeaders().add("ETag", eTag(body));
+                        }
+                        exchange.sendResponseHeaders(200, -1);
+                    }
+                }
+                case "POST" -> {
+                    if (query.containsKey("uploads")) {
+                        String uploadId = UUID.randomUUID().toString();
+                        uploads.put(uploadId, new ConcurrentHashMap<>());
+                        xml(exchange, 200, "<InitiateMultipartUploadResult><Bucket>" + bucket(path) + "</Bucket><Key>"
+                                + key(path) + "</Key><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+                    } else {
+                        Map<Integer, byte[]> parts = uploads.remove(query.get("uploadId"));
+                        ByteArrayOutputStream object = new ByteArrayOutputStream();
+                        new TreeMap<>(parts).values().forEach(object::writeBytes);
+                        objects.put(path, object.toByteArray());
+                        xml(exchange, 200, "<CompleteMultipartUploadResult><Bucket>" + bucket(path) + "</Bucket><Key>"
+                                + key(path) + "</Key><ETag>" + eTag(object.toByteArray()) + "</ETag></CompleteMultipartUploadResult>");
+                    }
+                }
+                case "DELETE" -> {
+                    uploads.remove(query.get("uploadId"));
+                    abortedUploads.add(query.get("uploadId"));
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    private void uploadPart(HttpExchange exchange, Map<String, String> query, byte[] body) throws IOException {
+        uploadPartRequests.incrementAndGet();
+        int partNumber = Integer.parseInt(query.get("partNumber"));
+        maxPartsInFlight.accumulateAndGet(partsInFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(partDelayMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            partsInFlight.decrementAndGet();
+        }
+
+        AtomicInteger failures = failingParts.get(partNumber);
+        if (failures != null && failures.getAndDecrement() > 0) {
+            xml(exchange, 500, "<Error><Code>InternalError</Code><Message>injected</Message></Error>");
+            return;
+        }
+        uploads.get(query.get("uploadId")).put(partNumber, body);
+        exchange.getResponseHeaders().add("ETag", eTag(body));
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    /**
+     * Decodes aws-chunked bodies (streaming SigV4) so stored bytes equal what the client sent.
+     */
+    private static byte[] body(HttpExchange exchange) throws IOException {
+        InputStream in = exchange.getRequestBody();
+        String contentSha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        if (contentSha == null || !contentSha.startsWith("STREAMING-")) {
+            return in.readAllBytes();
+        }
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        while (true) {
+            String header = line(in);
+            int size = Integer.parseInt(header.split(";", 2)[0].strip(), 16);
+            if (size == 0) {
+                return decoded.toByteArray();
+            }
+            decoded.write(in.readNBytes(size));
+            line(in);
+        }
+    }
+
+    private static String line(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    private static void xml(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" + body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            String[] parts = pair.split("=", 2);
+            query.put(
+                    URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+                    parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : ""
+            );
+        }
+        return query;
+    }
+
+    private static String bucket(String path) {
+        return path.substring(0, path.indexOf('/'));
+    }
+
+    private static String key(String path) {
+        return path.substring(path.indexOf('/') + 1);
+    }
+
+    private static String eTag(byte[] content) {
+        try {
+            return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content)) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.invoice_service.services;
+
+import com.example.invoice_service.Repository.InvoiceRepository;
+import com.example.invoice_service.configuration.InvoicePipelineProperties;
+import com.example.invoice_service.configuration.InvoiceRenderProperties;
+import com.example.invoice_service.configuration.InvoiceStorageProperties;
+import com.example.invoice_service.configuration.ThreadModeProperties;
+import com.example.invoice_service.entity.InvoiceEntity;
+import com.example.invoice_service.entity.InvoiceStatus;
+import com.example.invoice_service.models.OrderDetailsModel;
+import com.example.invoice_service.utils.DatabaseBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InvoiceGenerationServiceImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final InvoiceRepository invoiceRepository = mock(InvoiceRepository.class);
+    private final OrderServiceClient orderServiceClient = mock(OrderServiceClient.class);
+
+    @BeforeEach
+    void setUp() {
+        when(orderServiceClient.getOrder(any())).thenAnswer(invocation -> OrderDetailsModel.builder()
+                .orderId(invocation.getArgument(0))
+                .totalAmount(new BigDecimal("42.00"))
+                .build());
+    }
+
+    @Test
+    void renderStageNeverExceedsItsCap() throws IOException {
+        AtomicInteger rendering = new AtomicInteger();
+        AtomicInteger maxRendering = new AtomicInteger();
+        InvoiceRenderer slowRenderer = new InvoiceRenderer() {
+            @Override
+            public void render(InvoiceEntity invoice, OrderDetailsModel order, OutputStream out) throws IOException {
+                maxRendering.accumulateAndGet(rendering.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                out.write(invoice.getInvoiceNumber().getBytes());
+                rendering.decrementAndGet();
+            }
+
+            @Override
+            public String contentType() {
+                return "text/plain";
+            }
+        };
+        InvoiceGenerationServiceImpl pipeline = pipeline(slowRenderer, 2);
+
+        int invoices = 12;
+        // stub everything before the pipeline threads start calling the mocks
+        List<UUID> invoiceIds = new ArrayList<>();
+        for (int i = 0; i < invoices; i++) {
+            invoiceIds.add(requested(UUID.randomUUID()));
+        }
+        invoiceIds.forEach(pipeline::generateInvoice);
+
+        verify(invoiceRepository, timeout(5_000).times(invoices))
+                .markCompleted(any(), any(), any(), eq(new BigDecimal("42.00")), any());
+        assertThat(maxRendering.get()).isEqualTo(2);
+        try (var stored = Files.list(tempDir.resolve("store"))) {
+            assertThat(stored.count()).isEqualTo(invoices);
+        }
+        try (var spooled = Files.list(tempDir.resolve("spool"))) {
+            assertThat(spooled.count()).isZero();
+        }
+    }
+
+    @Test
+    void failedFetchMarksInvoiceFailed() throws IOException {
+        UUID invoiceId = requested(UUID.randomUUID());
+        when(orderServiceClient.getOrder(any())).thenThrow(new IllegalStateException("order-service unavailable"));
+
+        pipeline(new PdfInvoiceRenderer(new InvoiceRenderProperties()), 2).generateInvoice(invoiceId);
+
+        verify(invoiceRepository, timeout(5_000)).markFailed(eq(invoiceId), any(), eq("order-service unavailable"));
+        verify(invoiceRepository, never()).markCompleted(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void invoiceAlreadyPickedUpIsNotRunTwice() throws IOException {
+        UUID invoiceId = UUID.randomUUID();
+        when(invoiceRepository.claim(eq(invoiceId), any())).thenReturn(0);
+
+        pipeline(new PdfInvoiceRenderer(new InvoiceRenderProperties()), 2).generateInvoice(invoiceId);
+
+        verify(invoiceRepository, after(200).never()).findById(invoiceId);
+        verify(invoiceRepository, never()).markFailed(any(), any(), any());
+    }
+
+    @Test
+    void invoiceLeftRequestedByAFailedClaimIsResubmitted() throws IOException {
+        UUID invoiceId = requested(UUID.randomUUID());
+        when(invoiceRepository.claim(eq(invoiceId), any()))
+                .thenThrow(new DatabaseBusyException("No database connection within 500ms", Duration.ofSeconds(1)))
+                .thenReturn(1);
+        when(invoiceRepository.findIdsRequestedBefore(any())).thenReturn(List.of(invoiceId));
+        InvoiceGenerationServiceImpl pipeline = pipeline(new PdfInvoiceRenderer(new InvoiceRenderProperties()), 2);
+
+        pipeline.generateInvoice(invoiceId);
+        verify(invoiceRepository, timeout(5_000).times(1)).claim(eq(invoiceId), any());
+        verify(invoiceRepository, after(200).never()).findById(invoiceId);
+        verify(invoiceRepository, never()).markFailed(any(), any(), any());
+
+        pipeline.resubmitStalled();
+
+        verify(invoiceRepository, timeout(5_000)).markCompleted(eq(invoiceId), any(), any(), any(), any());
+    }
+
+    @Test
+    void claimsPastTheirLeaseAreReleasedAndCompletedUnderTheNewClaim() throws IOException {
+        UUID abandoned = requested(UUID.randomUUID());
+        UUID finishedMeanwhile = UUID.randomUUID();
+        when(invoiceRepository.findIdsClaimedBefore(any())).thenReturn(List.of(abandoned, finishedMeanwhile));
+        when(invoiceRepository.releaseClaim(eq(abandoned), any())).thenReturn(1);
+        InvoiceGenerationServiceImpl pipeline = pipeline(new PdfInvoiceRenderer(new InvoiceRenderProperties()), 2);
+
+        Instant before = Instant.now();
+        List<UUID> released = pipeline.releaseExpiredClaims();
+        released.forEach(pipeline::generateInvoice);
+
+        assertThat(released).containsExactly(abandoned);
+        ArgumentCaptor<Instant> claimedBefore = ArgumentCaptor.forClass(Instant.class);
+        verify(invoiceRepository).findIdsClaimedBefore(claimedBefore.capture());
+        assertThat(claimedBefore.getValue()).isBefore(before.minus(Duration.ofMinutes(9)));
+
+        // the completion is fenced by the claim that started this run
+        ArgumentCaptor<Instant> claim = ArgumentCaptor.forClass(Instant.class);
+        verify(invoiceRepository, timeout(5_000)).markCompleted(eq(abandoned), any(), any(), any(), any());
+        verify(invoiceRepository).claim(eq(abandoned), claim.capture());
+        verify(invoiceRepository).markCompleted(eq(abandoned), eq(claim.getValue()), any(), any(), any());
+    }
+
+    private InvoiceGenerationServiceImpl pipeline(InvoiceRenderer renderer, int renderConcurrency) {
+        InvoicePipelineProperties properties = new InvoicePipelineProperties();
+        properties.setSpoolDir(tempDir.resolve("spool"));
+        properties.getRender().setMaxConcurrency(renderConcurrency);
+
+        InvoiceStorageProperties storageProperties = new InvoiceStorageProperties();
+        storageProperties.setLocalDir(tempDir.resolve("store"));
+
+        return new InvoiceGenerationServiceImpl(
+                invoiceRepository,
+                orderServiceClient,
+                renderer,
+                new LocalInvoiceStorage(storageProperties),
+                mock(ApplicationEventPublisher.class),
+                properties,
+                new ThreadModeProperties(),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    private UUID requested(UUID invoiceId) {
+        InvoiceEntity invoice = InvoiceEntity.builder()
+                .id(invoiceId)
+                .orderId(UUID.randomUUID())
+                .invoiceNumber("INV-" + invoiceId.toString().substring(0, 8))
+                .status(InvoiceStatus.GENERATING)
+                .currency("USD")
+                .totalAmount(BigDecimal.ZERO)
+                .requestedAt(Instant.now())
+                .build();
+        when(invoiceRepository.claim(eq(invoiceId), any())).thenReturn(1);
+        when(invoiceRepository.findById(invoiceId)).thenReturn(Optional.of(invoice));
+        return invoiceId;
+    }
+}
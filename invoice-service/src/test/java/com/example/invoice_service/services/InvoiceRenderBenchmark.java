@@ -0,0 +1,112 @@
+package com.example.invoice_service.services;
+
+import com.example.invoice_service.configuration.InvoiceRenderProperties;
+import com.example.invoice_service.entity.InvoiceEntity;
+import com.example.invoice_service.models.OrderDetailsModel;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * PDF render throughput of the precompiled layout, single-threaded and with one
+ * thread per core, reported as invoices/s per core. Output goes to a sink that
+ * only counts bytes, so this measures rendering, not I/O.
+ * <p>
+ * Not part of the regular test run: {@code mvn -Pbenchmark test}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvoiceRenderBenchmark {
+
+    @Param({"5", "50"})
+    public int lines;
+
+    private PdfInvoiceRenderer renderer;
+    private InvoiceEntity invoice;
+    private OrderDetailsModel order;
+
+    @Setup
+    public void setUp() throws IOException {
+        renderer = new PdfInvoiceRenderer(new InvoiceRenderProperties());
+        invoice = PdfInvoiceRendererTest.invoice();
+        order = PdfInvoiceRendererTest.order(lines);
+    }
+
+    @Benchmark
+    public long render(Blackhole blackhole) throws IOException {
+        CountingSink sink = new CountingSink(blackhole);
+        renderer.render(invoice, order, sink);
+        return sink.bytes;
+    }
+
+    @Test
+    void invoicesPerSecondPerCore() throws RunnerException {
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        for (int threads : IntStream.of(1, cores).distinct().toArray()) {
+            Options options = new OptionsBuilder()
+                    .include(InvoiceRenderBenchmark.class.getName() + ".render")
+                    .threads(threads)
+                    .shouldDoGC(true)
+                    .build();
+            Collection<RunResult> results = new Runner(options).run();
+
+            for (RunResult result : results) {
+                double invoicesPerSecond = result.getPrimaryResult().getScore();
+                System.out.printf(
+                        "lines=%-3s threads=%-3d %,10.0f invoices/s  %,8.0f invoices/s/core%n",
+                        result.getParams().getParam("lines"),
+                        threads,
+                        invoicesPerSecond,
+                        invoicesPerSecond / Math.min(threads, cores)
+                );
+            }
+        }
+    }
+
+    private static final class CountingSink extends OutputStream {
+
+        private final Blackhole blackhole;
+        private long bytes;
+
+        private CountingSink(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.invoice_service.services;
+
+import com.example.invoice_service.configuration.InvoiceRenderProperties;
+import com.example.invoice_service.entity.InvoiceEntity;
+import com.example.invoice_service.models.OrderDetailsModel;
+import com.example.invoice_service.utils.InvoiceTemplateCompiler;
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PdfInvoiceRendererTest {
+
+    private final PdfInvoiceRenderer renderer;
+
+    PdfInvoiceRendererTest() throws IOException {
+        renderer = new PdfInvoiceRenderer(new InvoiceRenderProperties());
+    }
+
+    @Test
+    void rendersSinglePageInvoice() throws IOException {
+        byte[] pdf = render(order(3));
+
+        assertThat(new String(pdf, 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+        assertThat(pages(pdf)).isEqualTo(1);
+    }
+
+    @Test
+    void longInvoicesContinueOnNextPages() throws IOException {
+        // 33 rows fit on the first page and 45 on the next ones; 32 rows leave no room for the total
+        assertThat(pages(render(order(32)))).isEqualTo(2);
+        assertThat(pages(render(order(150)))).isEqualTo(4);
+    }
+
+    @Test
+    void continuationPagesRepeatTheColumnHeadings() throws IOException {
+        byte[] pdf = render(order(50));
+
+        try (PdfReader reader = new PdfReader(pdf)) {
+            PdfTextExtractor text = new PdfTextExtractor(reader);
+            assertThat(reader.getNumberOfPages()).isEqualTo(2);
+            assertThat(text.getTextFromPage(1)).contains("Bill to", "Product", "Unit price", "Amount");
+            assertThat(text.getTextFromPage(2))
+                    .contains("Product", "Qty", "Unit price", "Amount")
+                    .doesNotContain("Bill to");
+        }
+    }
+
+    @Test
+    void layoutErrorsNameTheLine() {
+        assertThatThrownBy(() -> InvoiceTemplateCompiler.compile(new StringReader("page 595 842\ntext body left 40 700 x")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("line 2")
+                .hasMessageContaining("font 'body'");
+    }
+
+    static InvoiceEntity invoice() {
+        return InvoiceEntity.builder()
+                .invoiceNumber("INV-20260101-0001")
+                .currency("USD")
+                .requestedAt(Instant.parse("2026-01-01T10:00:00Z"))
+                .build();
+    }
+
+    static OrderDetailsModel order(int lines) {
+        return OrderDetailsModel.builder()
+                .orderId(UUID.randomUUID())
+                .totalAmount(BigDecimal.valueOf(lines * 25L))
+                .address(OrderDetailsModel.Address.builder()
+                        .line1("1 Main St")
+                        .city("Pune")
+                        .state("MH")
+                        .postalCode("411001")
+                        .country("IN")
+                        .build())
+                .products(IntStream.range(0, lines)
+                        .mapToObj(i -> OrderDetailsModel.Line.builder()
+                                .productId(UUID.randomUUID())
+                                .quantity(1)
+                                .unitPrice(BigDecimal.valueOf(25))
+                                .lineTotal(BigDecimal.valueOf(25))
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private byte[] render(OrderDetailsModel order) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(invoice(), order, out);
+        return out.toByteArray();
+    }
+
+    private static int pages(byte[] pdf) throws IOException {
+        try (PdfReader reader = new PdfReader(pdf)) {
+            return reader.getNumberOfPages();
+        }
+    }
+}
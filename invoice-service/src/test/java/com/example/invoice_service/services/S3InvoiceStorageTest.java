@@ -0,0 +1,133 @@
+package com.example.invoice_service.services;
+
+import com.example.invoice_service.configuration.InvoiceStorageConfig;
+import com.example.invoice_service.configuration.InvoiceStorageProperties;
+import com.example.invoice_service.configuration.ThreadModeProperties;
+import com.example.invoice_service.entity.InvoiceEntity;
+import com.example.invoice_service.models.InvoiceDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class S3InvoiceStorageTest {
+
+    private static final int PART_SIZE = (int) S3InvoiceStorage.MIN_PART_SIZE;
+
+    @TempDir
+    Path tempDir;
+
+    private FakeS3Server fakeS3;
+    private S3InvoiceStorage storage;
+
+    private final InvoiceEntity invoice = InvoiceEntity.builder().invoiceNumber("INV-1").build();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fakeS3 = new FakeS3Server();
+
+        InvoiceStorageProperties.S3 properties = new InvoiceStorageProperties.S3();
+        properties.setEndpoint(fakeS3.endpoint());
+        properties.setPartSize(DataSize.ofBytes(PART_SIZE));
+        properties.setMaxBufferedParts(3);
+        properties.setRetryBackoff(Duration.ofMillis(10));
+
+        storage = new S3InvoiceStorage(
+                InvoiceStorageConfig.s3Client(properties), properties, new ThreadModeProperties(), new SimpleMeterRegistry()
+        );
+        storage.ensureBucket();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+        fakeS3.close();
+    }
+
+    @Test
+    void largeDocumentsAreUploadedInBoundedRetriedParts() throws Exception {
+        byte[] content = randomBytes(5 * PART_SIZE + 1234);
+        Path document = write(content);
+        fakeS3.partDelayMillis = 50;
+        fakeS3.failPart(2, 1);
+
+        String location = storage.store(invoice, document, "application/pdf");
+
+        String key = "invoices/" + sha256(content);
+        assertThat(location).isEqualTo("s3://invoices/" + key);
+        assertThat(fakeS3.objects.get("invoices/" + key)).isEqualTo(content);
+        // six parts, one of them sent twice
+        assertThat(fakeS3.uploadPartRequests).hasValue(7);
+        assertThat(fakeS3.maxPartsInFlight.get()).isBetween(2, 3);
+    }
+
+    @Test
+    void smallDocumentsUseOnePutAndAreStoredOnce() throws Exception {
+        Path document = write(randomBytes(20_000));
+
+        String first = storage.store(invoice, document, "application/pdf");
+        String second = storage.store(invoice, document, "application/pdf");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(fakeS3.putObjectRequests).hasValue(1);
+        assertThat(fakeS3.uploadPartRequests).hasValue(0);
+    }
+
+    @Test
+    void storedDocumentsAreReadByRange() throws Exception {
+        byte[] content = randomBytes(20_000);
+        invoice.setPdfUrl(storage.store(invoice, write(content), "application/pdf"));
+
+        InvoiceDocument document = storage.open(invoice);
+
+        assertThat(document.length()).isEqualTo(content.length);
+        assertThat(document.eTag()).isEqualTo("\"" + sha256(content) + "\"");
+        try (InputStream in = ((InvoiceDocument.Remote) document).reader().open(100, 199)) {
+            assertThat(in.readAllBytes()).isEqualTo(Arrays.copyOfRange(content, 100, 200));
+        }
+    }
+
+    @Test
+    void partThatKeepsFailingAbortsTheUpload() throws Exception {
+        Path document = write(randomBytes(3 * PART_SIZE));
+        fakeS3.failPart(1, Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> storage.store(invoice, document, "application/pdf"))
+                .isInstanceOf(S3Exception.class);
+
+        assertThat(fakeS3.abortedUploads).hasSize(1);
+        assertThat(fakeS3.uploads).isEmpty();
+        assertThat(fakeS3.objects).isEmpty();
+    }
+
+    private Path write(byte[] content) throws IOException {
+        return Files.write(Files.createTempFile(tempDir, "invoice-", ".pdf"), content);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String sha256(byte[] content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
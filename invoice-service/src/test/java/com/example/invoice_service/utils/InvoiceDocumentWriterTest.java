@@ -0,0 +1,131 @@
+package com.example.invoice_service.utils;
+
+import com.example.invoice_service.configuration.InvoiceDownloadProperties;
+import com.example.invoice_service.models.InvoiceDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvoiceDocumentWriterTest {
+
+    private static final byte[] CONTENT = "%PDF-0123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final String ETAG = "\"abc\"";
+
+    @TempDir
+    Path tempDir;
+
+    private final InvoiceDocumentWriter writer = new InvoiceDocumentWriter(new InvoiceDownloadProperties());
+
+    @Test
+    void fullDocumentWithCachingHeaders() throws IOException {
+        MockHttpServletResponse response = write(localFile(), new MockHttpServletRequest("GET", "/"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+        assertThat(response.getHeader("ETag")).isEqualTo(ETAG);
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("max-age=3600, private");
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+    }
+
+    @Test
+    void rangeOfLocalFile() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=5-9");
+
+        MockHttpServletResponse response = write(localFile(), request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 5-9/15");
+        assertThat(response.getContentAsString()).isEqualTo("01234");
+    }
+
+    @Test
+    void suffixRangeOfRemoteDocumentFetchesOnlyThatRange() throws IOException {
+        long[] requested = new long[2];
+        InvoiceDocument remote = new InvoiceDocument.Remote(CONTENT.length, ETAG, (start, end) -> {
+            requested[0] = start;
+            requested[1] = end;
+            return new ByteArrayInputStream(Arrays.copyOfRange(CONTENT, (int) start, (int) end + 1));
+        });
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=-3");
+
+        MockHttpServletResponse response = write(remote, request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(requested).containsExactly(12, 14);
+        assertThat(response.getContentAsString()).isEqualTo("789");
+    }
+
+    @Test
+    void unsatisfiableRange() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=100-");
+
+        MockHttpServletResponse response = write(localFile(), request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */15");
+    }
+
+    @Test
+    void staleIfRangeSendsWholeDocument() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=0-3");
+        request.addHeader("If-Range", "\"old\"");
+
+        MockHttpServletResponse response = write(localFile(), request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-None-Match", "\"other\", W/" + ETAG);
+
+        MockHttpServletResponse response = write(localFile(), request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getHeader("ETag")).isEqualTo(ETAG);
+    }
+
+    @Test
+    void sendfileIsHandedToTheConnectorWhenSupported() throws IOException {
+        InvoiceDocument.LocalFile file = localFile();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setAttribute(InvoiceDocumentWriter.SENDFILE_SUPPORTED, Boolean.TRUE);
+        request.addHeader("Range", "bytes=5-");
+
+        MockHttpServletResponse response = write(file, request);
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(request.getAttribute(InvoiceDocumentWriter.SENDFILE_FILENAME)).isEqualTo(file.path().toAbsolutePath().toString());
+        assertThat(request.getAttribute(InvoiceDocumentWriter.SENDFILE_START)).isEqualTo(5L);
+        assertThat(request.getAttribute(InvoiceDocumentWriter.SENDFILE_END)).isEqualTo(15L);
+    }
+
+    private InvoiceDocument.LocalFile localFile() throws IOException {
+        Path path = Files.write(tempDir.resolve("INV-1"), CONTENT);
+        return new InvoiceDocument.LocalFile(path, CONTENT.length, ETAG);
+    }
+
+    private MockHttpServletResponse write(InvoiceDocument document, MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        writer.write(document, "application/pdf", "invoice.pdf", request, response);
+        return response;
+    }
+}
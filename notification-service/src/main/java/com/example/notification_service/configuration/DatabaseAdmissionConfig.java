@@ -0,0 +1,83 @@
+package com.example.notification_service.configuration;
+
+import com.example.notification_service.utils.AdmissionControlledDataSource;
+import com.example.notification_service.utils.ConnectionAdmissionControl;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts {@link ConnectionAdmissionControl} in front of the application DataSource, so
+ * JPA, JdbcTemplate and Flyway all check out connections through the same gate.
+ */
+@Configuration
+@EnableConfigurationProperties(DatabaseAdmissionProperties.class)
+@Slf4j
+public class DatabaseAdmissionConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public static BeanPostProcessor admissionControlledDataSourcePostProcessor(
+            ObjectProvider<DatabaseAdmissionProperties> properties,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof AdmissionControlledDataSource) {
+                    return bean;
+                }
+                DatabaseAdmissionProperties admission = properties.getObject();
+                if (!admission.isEnabled()) {
+                    return bean;
+                }
+                return wrap(dataSource, beanName, admission, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+            }
+        };
+    }
+
+    private static DataSource wrap(
+            DataSource dataSource,
+            String beanName,
+            DatabaseAdmissionProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        String pool = beanName;
+        int poolSize = DEFAULT_POOL_SIZE;
+        if (dataSource instanceof HikariDataSource hikari) {
+            pool = hikari.getPoolName() != null ? hikari.getPoolName() : beanName;
+            // unset until the pool starts; Hikari then applies its own default of 10
+            poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+        }
+        int maxConcurrent = properties.getMaxConcurrent() != null ? properties.getMaxConcurrent() : poolSize;
+
+        log.info(
+                "Database admission control enabled. pool={}, maxConcurrent={}, maxQueued={}, maxWait={}",
+                pool,
+                maxConcurrent,
+                properties.getMaxQueued(),
+                properties.getMaxWait()
+        );
+
+        return new AdmissionControlledDataSource(
+                dataSource,
+                new ConnectionAdmissionControl(
+                        pool,
+                        maxConcurrent,
+                        properties.getMaxQueued(),
+                        properties.getMaxWait(),
+                        properties.getRetryAfter(),
+                        meterRegistry
+                )
+        );
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.notification_service.controller;
+
+import com.example.notification_service.configuration.ThreadModeProperties;
+import com.example.notification_service.models.ThreadModeResponseModel;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+@RestController
+@RequestMapping(DiagnosticsController.API_V1_DIAGNOSTICS)
+public class DiagnosticsController {
+
+    public static final String API_V1 = "/v1";
+    public static final String DIAGNOSTICS = "/diagnostics";
+    public static final String API_V1_DIAGNOSTICS = API_V1 + DIAGNOSTICS;
+
+    private final String serviceName;
+    private final ThreadModeProperties threadModeProperties;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    public DiagnosticsController(
+            @Value("${spring.application.name}") String serviceName,
+            ThreadModeProperties threadModeProperties,
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor applicationTaskExecutor
+    ) {
+        this.serviceName = serviceName;
+        this.threadModeProperties = threadModeProperties;
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
+    /* =========================
+       THREAD MODE
+       ========================= */
+
+    @GetMapping("/thread-mode")
+    public ResponseEntity<ThreadModeResponseModel> getThreadMode() {
+        Thread current = Thread.currentThread();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        return ResponseEntity.ok(
+                ThreadModeResponseModel.builder()
+                        .service(serviceName)
+                        .mode(threadModeProperties.getMode())
+                        .requestThread(current.toString())
+                        .requestThreadVirtual(current.isVirtual())
+                        .asyncExecutor(applicationTaskExecutor.getClass().getSimpleName())
+                        .liveThreads(threads.getThreadCount())
+                        .peakThreads(threads.getPeakThreadCount())
+                        .build()
+        );
+    }
+}
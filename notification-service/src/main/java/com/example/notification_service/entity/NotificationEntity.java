@@ -12,7 +12,14 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "notifications")
+@Table(
+        name = "notifications",
+        indexes = {
+                @Index(name = "idx_notifications_user_id_status", columnList = "user_id, status"),
+                @Index(name = "idx_notifications_status", columnList = "status"),
+                @Index(name = "idx_notifications_reference_id", columnList = "reference_id")
+        }
+)
 @Data
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -0,0 +1,28 @@
+package com.example.notification_service.models;
+
+import com.example.notification_service.configuration.ThreadMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThreadModeResponseModel {
+
+    private String service;
+    private ThreadMode mode;
+
+    // Thread that served this diagnostics request
+    private String requestThread;
+    private boolean requestThreadVirtual;
+
+    // Executor implementations actually wired for this mode
+    private String asyncExecutor;
+
+    // JVM-wide platform thread counters (virtual threads are not counted)
+    private int liveThreads;
+    private int peakThreads;
+}
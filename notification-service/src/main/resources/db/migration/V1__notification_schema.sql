@@ -0,0 +1,22 @@
+-- Notification service baseline schema (prod profile; dev/test use hibernate ddl-auto)
+
+create table notifications (
+    id           uuid                        not null,
+    user_id      varchar(255)                not null,
+    type         varchar(32)                 not null,
+    content      varchar(2000)               not null,
+    status       varchar(32)                 not null,
+    channel      varchar(100),
+    reference_id varchar(100),
+    created_at   timestamp(6) with time zone not null,
+    updated_at   timestamp(6) with time zone not null,
+    primary key (id),
+    constraint ck_notifications_type check (type in ('ORDER_CREATED', 'ORDER_SHIPPED', 'PAYMENT_SUCCESS',
+                                                     'PAYMENT_FAILED', 'PRODUCT_OUT_OF_STOCK', 'GENERIC')),
+    constraint ck_notifications_status check (status in ('PENDING', 'SENT', 'FAILED', 'READ'))
+);
+
+-- per-user inbox by status, dispatcher sweeps by status, lookups by source order/payment
+create index idx_notifications_user_id_status on notifications (user_id, status);
+create index idx_notifications_status on notifications (status);
+create index idx_notifications_reference_id on notifications (reference_id);
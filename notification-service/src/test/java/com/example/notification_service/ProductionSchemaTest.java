@@ -0,0 +1,52 @@
+package com.example.notification_service;
+
+import com.example.notification_service.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the prod profile against H2 in PostgreSQL mode: Flyway applies the migrations
+ * and Hibernate's {@code ddl-auto=validate} fails the context if entities and schema drift.
+ */
+@DataJpaTest(
+		showSql = false,
+		properties = {
+				"spring.datasource.url=jdbc:h2:mem:notification-prod;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+				"spring.datasource.driverClassName=org.h2.Driver",
+				"spring.datasource.username=sa",
+				"spring.datasource.password="
+		}
+)
+@ActiveProfiles("prod")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductionSchemaTest {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Test
+	void migrationsMatchEntitiesAndCreateQueryIndexes() {
+		List<String> indexes = jdbcTemplate.queryForList(
+				"select index_name from information_schema.indexes where table_schema = 'public'", String.class
+		);
+
+		assertThat(notificationRepository.count()).isZero();
+		assertThat(indexes).contains(
+				"idx_notifications_user_id_status",
+				"idx_notifications_status",
+				"idx_notifications_reference_id"
+		);
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.example.order_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "http-client.bulkhead")
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Concurrent calls allowed per downstream (semaphore permits).
+     */
+    private int maxConcurrentCalls = 100;
+
+    /**
+     * Callers allowed to wait for a permit; beyond this calls are rejected immediately.
+     */
+    private int maxQueuedCalls = 200;
+
+    /**
+     * Max time a queued caller waits for a permit before being rejected.
+     */
+    private Duration maxWait = Duration.ofMillis(500);
+
+    /**
+     * Learns the concurrent-call limit per downstream from RTT and errors;
+     * maxConcurrentCalls is then only the starting point.
+     */
+    private Adaptive adaptive = new Adaptive();
+
+    /**
+     * Per-downstream overrides keyed by host:port, e.g.
+     * http-client.bulkhead.downstreams.[localhost\:5000].max-concurrent-calls=50
+     */
+    private Map<String, Limits> downstreams = new LinkedHashMap<>();
+
+    public Limits limitsFor(String downstream) {
+        Limits override = downstreams.getOrDefault(downstream, new Limits());
+        Limits limits = new Limits();
+        limits.setMaxConcurrentCalls(
+                override.getMaxConcurrentCalls() != null ? override.getMaxConcurrentCalls() : maxConcurrentCalls);
+        limits.setMaxQueuedCalls(
+                override.getMaxQueuedCalls() != null ? override.getMaxQueuedCalls() : maxQueuedCalls);
+        limits.setMaxWait(
+                override.getMaxWait() != null ? override.getMaxWait() : maxWait);
+        return limits;
+    }
+
+    @Data
+    public static class Limits {
+
+        private Integer maxConcurrentCalls;
+        private Integer maxQueuedCalls;
+        private Duration maxWait;
+    }
+
+    @Data
+    public static class Adaptive {
+
+        private boolean enabled = true;
+        private int minLimit = 5;
+        private int maxLimit = 1000;
+
+        /**
+         * Multiplicative decrease applied on timeouts, 5xx and 429 responses.
+         */
+        private double backoffRatio = 0.9;
+
+        /**
+         * Samples between re-measurements of the no-load RTT.
+         */
+        private int probeInterval = 1000;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.order_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "db.admission")
+public class DatabaseAdmissionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Connections that may be checked out at once; defaults to the Hikari maximum-pool-size.
+     */
+    private Integer maxConcurrent;
+
+    /**
+     * Callers allowed to wait for a connection; beyond this they are rejected immediately.
+     */
+    private int maxQueued = 1_000;
+
+    /**
+     * Max time a queued caller waits for a connection before being rejected with 503.
+     * Kept below Hikari's connection-timeout so callers are turned away here, not by the pool.
+     */
+    private Duration maxWait = Duration.ofMillis(500);
+
+    /**
+     * Retry-After sent with 503 rejections (rounded up to whole seconds).
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
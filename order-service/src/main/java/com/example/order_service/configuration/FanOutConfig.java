@@ -0,0 +1,23 @@
+package com.example.order_service.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ThreadFactory;
+
+@Configuration
+@EnableConfigurationProperties({FanOutProperties.class, InventoryProperties.class})
+public class FanOutConfig {
+
+    /**
+     * Threads for parallel downstream branches; follows the service-wide thread mode.
+     */
+    @Bean
+    public ThreadFactory fanOutThreadFactory(ThreadModeProperties threadModeProperties) {
+        if (threadModeProperties.getMode() == ThreadMode.VIRTUAL) {
+            return Thread.ofVirtual().name("fan-out-vt-", 0).factory();
+        }
+        return Thread.ofPlatform().name("fan-out-", 0).daemon(true).factory();
+    }
+}
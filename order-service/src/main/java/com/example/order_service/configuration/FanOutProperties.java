@@ -0,0 +1,21 @@
+package com.example.order_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.fan-out")
+public class FanOutProperties {
+
+    /**
+     * Deadline for POST /api/v1/products/batch.
+     */
+    private Duration productLookupTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Deadline for POST /api/v1/products/reduce.
+     */
+    private Duration inventoryReservationTimeout = Duration.ofSeconds(3);
+}
@@ -0,0 +1,58 @@
+package com.example.order_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "http-client")
+public class HttpClientProperties {
+
+    /**
+     * APACHE = pooled HTTP/1.1 keep-alive connections with per-route limits.
+     * JDK    = java.net.http.HttpClient negotiating HTTP/2 (multiplexed streams per host).
+     */
+    private Transport transport = Transport.APACHE;
+
+    /**
+     * Pool-wide connection cap (APACHE).
+     */
+    private int maxConnectionsTotal = 500;
+
+    /**
+     * Default connection cap per downstream host (APACHE).
+     */
+    private int maxConnectionsPerRoute = 200;
+
+    /**
+     * Per-host overrides keyed by host:port, e.g. http-client.max-connections-per-host.[localhost\:5000]=100
+     */
+    private Map<String, Integer> maxConnectionsPerHost = new LinkedHashMap<>();
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Max wait to lease a pooled connection before failing fast (APACHE).
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Connections idle longer than this are closed by the background evictor (APACHE).
+     */
+    private Duration idleEvictionTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Hard upper bound on a pooled connection's lifetime (APACHE).
+     */
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+
+    public enum Transport {
+        APACHE,
+        JDK
+    }
+}
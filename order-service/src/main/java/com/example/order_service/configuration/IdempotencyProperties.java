@@ -0,0 +1,28 @@
+package com.example.order_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How long a completed response is replayed for its key.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Max keys kept in memory (size-bounded eviction).
+     */
+    private long maximumKeys = 100_000;
+
+    /**
+     * How long a duplicate waits for the in-flight original before giving up with 409.
+     */
+    private Duration inFlightWait = Duration.ofSeconds(10);
+}
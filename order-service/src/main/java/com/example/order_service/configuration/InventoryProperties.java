@@ -0,0 +1,29 @@
+package com.example.order_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "order.inventory")
+public class InventoryProperties {
+
+    /**
+     * Product-service endpoint that gives back stock taken by POST /api/v1/products/reduce
+     * for an order that was never persisted.
+     * <p>
+     * Contract (the product service must implement it before this service is deployed):
+     * - same body as /reduce, plus the {@code Idempotency-Key} header the reduce was sent with
+     * - restores exactly what the reduce with that key took; repeated releases are no-ops
+     * - a release for a key whose reduce was never applied is a no-op, and is remembered so
+     * a reduce with that key arriving afterwards (still in flight when the order gave up)
+     * is refused instead of applied
+     */
+    private String releasePath = "/api/v1/products/release";
+
+    /**
+     * Fork the reservation alongside the product lookup instead of reserving after pricing.
+     * Every failed lookup or pricing step then relies on {@link #releasePath} to give the
+     * stock back, so keep this off until the product service implements that endpoint.
+     */
+    private boolean speculativeReservation = false;
+}
@@ -0,0 +1,19 @@
+package com.example.order_service.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+/**
+ * Populates @CreatedDate / @LastModifiedDate on orders; created_at is the keyset
+ * pagination column, so it must always be set.
+ */
+@Configuration
+@EnableJpaAuditing
+@EnableConfigurationProperties({
+        OrderListingProperties.class,
+        OrderReadModelProperties.class,
+        StatusUpdateProperties.class
+})
+public class JpaConfig {
+}
@@ -0,0 +1,29 @@
+package com.example.order_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order-analytics")
+public class OrderAnalyticsProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Ring buffer slots (rounded up to a power of two); when full, the oldest
+     * unflushed reads are overwritten and counted as dropped.
+     */
+    private int bufferCapacity = 16_384;
+
+    /**
+     * Fraction of reads recorded (0.0 - 1.0); flushed counts are scaled back up.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Delay between aggregated flushes to the analytics exchange.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+}
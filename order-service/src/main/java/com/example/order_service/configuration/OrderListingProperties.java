@@ -0,0 +1,24 @@
+package com.example.order_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "order.listing")
+public class OrderListingProperties {
+
+    /**
+     * Page size used when the caller does not pass a limit.
+     */
+    private int defaultPageSize = 50;
+
+    /**
+     * Upper bound for the limit query parameter.
+     */
+    private int maxPageSize = 200;
+
+    /**
+     * Orders per NDJSON export chunk: one product-line query and one output flush per chunk.
+     */
+    private int exportFlushInterval = 500;
+}
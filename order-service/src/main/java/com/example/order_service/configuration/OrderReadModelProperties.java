@@ -0,0 +1,26 @@
+package com.example.order_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "order.read-model")
+public class OrderReadModelProperties {
+
+    /**
+     * Serve order queries from the denormalized read model; when false they are
+     * projected from the order tables on every request.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Attempts per projection when a concurrent projection of the same order wins the race.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Orders loaded per batch when projecting many orders at once (bulk status
+     * updates, and the startup backfill of orders that have no read row yet).
+     */
+    private int backfillBatchSize = 500;
+}
@@ -0,0 +1,32 @@
+package com.example.order_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+    /**
+     * Delay between relay runs; each run publishes at most one batch, so batch-size per
+     * poll-interval bounds the relay's throughput.
+     */
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    /**
+     * Outbox rows fetched and published per relay batch.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Max wait for broker confirms of one batch; unconfirmed rows are retried next run.
+     */
+    private Duration confirmTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Published rows older than this are deleted.
+     */
+    private Duration retention = Duration.ofHours(24);
+}
@@ -0,0 +1,26 @@
+package com.example.order_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "product-batch")
+public class ProductBatchProperties {
+
+    /**
+     * Coalesce product ids from concurrent lookups into shared /products/batch calls.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long the first id of a batch waits for others before the batch is sent.
+     */
+    private Duration window = Duration.ofMillis(5);
+
+    /**
+     * A batch is sent as soon as it holds this many distinct ids.
+     */
+    private int maxBatchSize = 100;
+}
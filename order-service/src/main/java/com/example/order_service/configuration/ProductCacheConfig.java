@@ -0,0 +1,9 @@
+package com.example.order_service.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({ProductCacheProperties.class, ProductBatchProperties.class})
+public class ProductCacheConfig {
+}
@@ -0,0 +1,23 @@
+package com.example.order_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "product-cache")
+public class ProductCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Max number of ProductSnapshot entries kept in memory (size-bounded eviction).
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Entries expire this long after being loaded, even without an update event.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+}
@@ -1,10 +1,12 @@
 package com.example.order_service.configuration;
 
 import org.springframework.amqp.core.*;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties({RabbitPublisherProperties.class, OrderAnalyticsProperties.class})
 public class RabbitMQConfig {
 
     /* =========================================================
@@ -20,6 +22,10 @@ public class RabbitMQConfig {
     public static final String PAYMENT_STATUS_TOPIC_EXCHANGE =
             "payment.status.topic.exchange";
 
+    // Owned by product-service; consumed here for cache invalidation
+    public static final String PRODUCT_EVENTS_TOPIC_EXCHANGE =
+            "product.events.topic.exchange";
+
     /* =========================================================
        QUEUE NAMES (FOR DEMO / LOCAL / MOCK PURPOSES)
        ========================================================= */
@@ -53,6 +59,11 @@ public class RabbitMQConfig {
         return new TopicExchange(PAYMENT_STATUS_TOPIC_EXCHANGE, true, false);
     }
 
+    @Bean
+    public TopicExchange productEventsExchange() {
+        return new TopicExchange(PRODUCT_EVENTS_TOPIC_EXCHANGE, true, false);
+    }
+
     /* =========================================================
        QUEUES
        ========================================================= */
@@ -81,6 +92,15 @@ public class RabbitMQConfig {
         return QueueBuilder.durable(PAYMENT_STATUS_QUEUE).build();
     }
 
+    /**
+     * Per-instance (exclusive, auto-delete) queue: every order-service instance
+     * must see every product update to invalidate its own near cache.
+     */
+    @Bean
+    public Queue productCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
     /* =========================================================
        BINDINGS
        ========================================================= */
@@ -120,4 +140,17 @@ public class RabbitMQConfig {
                 .to(paymentStatusExchange())
                 .with("payment.status.*");
     }
+
+    /**
+     * Product changes that affect cached snapshots
+     * <p>
+     * Examples: - product.updated - product.price.changed - product.status.changed - product.deleted
+     */
+    @Bean
+    public Binding productCacheInvalidationBinding() {
+        return BindingBuilder
+                .bind(productCacheInvalidationQueue())
+                .to(productEventsExchange())
+                .with("product.#");
+    }
 }
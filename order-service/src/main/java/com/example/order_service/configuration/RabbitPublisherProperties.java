@@ -0,0 +1,43 @@
+package com.example.order_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "rabbit-publisher")
+public class RabbitPublisherProperties {
+
+    /**
+     * Events buffered in memory between callers and the publisher thread.
+     */
+    private int bufferCapacity = 10_000;
+
+    /**
+     * How long a caller blocks for buffer space before the publish is rejected (backpressure).
+     */
+    private Duration enqueueTimeout = Duration.ofMillis(100);
+
+    /**
+     * Max events published on one channel per batch; at most max-outstanding-confirms.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Published-but-unconfirmed events; the publisher pauses when the broker falls behind.
+     */
+    private int maxOutstandingConfirms = 1_000;
+
+    /**
+     * Republish attempts for nacked events before they are dropped.
+     */
+    private int maxRetries = 3;
+
+    private Duration retryBackoff = Duration.ofMillis(200);
+
+    /**
+     * Time allowed on shutdown to flush buffered events.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(5);
+}
@@ -1,14 +1,118 @@
 package com.example.order_service.configuration;
 
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
+@EnableConfigurationProperties({HttpClientProperties.class, BulkheadProperties.class})
+@Slf4j
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(ClientHttpRequestFactory clientHttpRequestFactory) {
+        return new RestTemplate(clientHttpRequestFactory);
+    }
+
+    @Bean
+    public ClientHttpRequestFactory clientHttpRequestFactory(HttpClientProperties properties) {
+        log.info("HTTP transport configured. transport={}", properties.getTransport());
+
+        return switch (properties.getTransport()) {
+            case APACHE -> apacheRequestFactory(properties);
+            case JDK -> jdkRequestFactory(properties);
+        };
+    }
+
+    /* =========================================================
+       APACHE HTTPCLIENT 5 (POOLED HTTP/1.1 KEEP-ALIVE)
+       ========================================================= */
+
+    private ClientHttpRequestFactory apacheRequestFactory(HttpClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager =
+                PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(properties.getMaxConnectionsTotal())
+                        .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                        .setDefaultConnectionConfig(
+                                ConnectionConfig.custom()
+                                        .setConnectTimeout(toTimeout(properties.getConnectTimeout()))
+                                        .setSocketTimeout(toTimeout(properties.getReadTimeout()))
+                                        .setTimeToLive(TimeValue.ofMilliseconds(
+                                                properties.getConnectionTimeToLive().toMillis()))
+                                        .build()
+                        )
+                        .build();
+
+        properties.getMaxConnectionsPerHost().forEach((host, max) ->
+                connectionManager.setMaxPerRoute(new HttpRoute(toHttpHost(host)), max)
+        );
+
+        CloseableHttpClient httpClient =
+                HttpClients.custom()
+                        .setConnectionManager(connectionManager)
+                        .setDefaultRequestConfig(
+                                RequestConfig.custom()
+                                        .setConnectionRequestTimeout(
+                                                toTimeout(properties.getConnectionRequestTimeout()))
+                                        .setResponseTimeout(toTimeout(properties.getReadTimeout()))
+                                        .build()
+                        )
+                        .evictExpiredConnections()
+                        .evictIdleConnections(TimeValue.ofMilliseconds(
+                                properties.getIdleEvictionTimeout().toMillis()))
+                        .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    /* =========================================================
+       JDK HTTPCLIENT (HTTP/2)
+       ========================================================= */
+
+    private ClientHttpRequestFactory jdkRequestFactory(HttpClientProperties properties) {
+        HttpClient httpClient =
+                HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .connectTimeout(properties.getConnectTimeout())
+                        .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+        return requestFactory;
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    private static Timeout toTimeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static HttpHost toHttpHost(String hostAndPort) {
+        try {
+            return HttpHost.create(hostAndPort.contains("://") ? hostAndPort : "http://" + hostAndPort);
+        } catch (URISyntaxException ex) {
+            throw new IllegalArgumentException("Invalid http-client host: " + hostAndPort, ex);
+        }
     }
 }
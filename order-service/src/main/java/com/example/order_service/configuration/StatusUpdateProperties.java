@@ -0,0 +1,26 @@
+package com.example.order_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.status-update")
+public class StatusUpdateProperties {
+
+    /**
+     * Attempts per status/payment-status update when it loses a race with a concurrent update.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Base backoff between attempts; grows linearly with the attempt and is jittered.
+     */
+    private Duration retryBackoff = Duration.ofMillis(20);
+
+    /**
+     * Max items accepted by one bulk status update request.
+     */
+    private int bulkMaxItems = 1_000;
+}
@@ -0,0 +1,20 @@
+package com.example.order_service.configuration;
+
+/**
+ * Threading model used for request handling, async tasks and message listeners.
+ *
+ * Selected once per process via the {@code thread.mode} property
+ * (env: {@code THREAD_MODE}) so both models can be compared under the same load.
+ */
+public enum ThreadMode {
+
+    /**
+     * Classic bounded pools of OS threads.
+     */
+    PLATFORM,
+
+    /**
+     * One virtual thread per task (Project Loom).
+     */
+    VIRTUAL
+}
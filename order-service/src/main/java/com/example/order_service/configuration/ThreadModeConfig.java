@@ -0,0 +1,123 @@
+package com.example.order_service.configuration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Wires every executor of the service from the single {@code thread.mode} property:
+ * <p>
+ * - Tomcat request handling
+ * - {@code @Async} / application task executor
+ * - RabbitMQ listener containers
+ * - {@code @Scheduled} task scheduler
+ */
+@Configuration
+@EnableAsync
+@EnableConfigurationProperties(ThreadModeProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class ThreadModeConfig {
+
+    private final ThreadModeProperties properties;
+
+    /* =========================================================
+       TOMCAT REQUEST EXECUTOR
+       ========================================================= */
+
+    /**
+     * Platform mode keeps Tomcat's own bounded pool (server.tomcat.threads.max).
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> threadModeProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (isVirtual()) {
+                protocolHandler.setExecutor(new VirtualThreadExecutor("tomcat-vt-"));
+            }
+            log.info("Tomcat request executor configured. threadMode={}", properties.getMode());
+        };
+    }
+
+    /* =========================================================
+       @ASYNC / TASK EXECUTOR
+       ========================================================= */
+
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return newExecutor("async-", properties.getPlatformAsyncPoolSize());
+    }
+
+    /* =========================================================
+       RABBITMQ LISTENER CONTAINERS
+       ========================================================= */
+
+    @Bean
+    public AsyncTaskExecutor rabbitListenerTaskExecutor() {
+        return newExecutor("rabbit-listener-", properties.getPlatformListenerPoolSize());
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory
+    ) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setTaskExecutor(rabbitListenerTaskExecutor());
+        return factory;
+    }
+
+    /* =========================================================
+       @SCHEDULED TASK SCHEDULER
+       ========================================================= */
+
+    /**
+     * A pool in both modes: Spring's SimpleAsyncTaskScheduler would run every fixed-delay
+     * task on one shared thread.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(properties.getSchedulerPoolSize());
+        if (isVirtual()) {
+            scheduler.setThreadFactory(Thread.ofVirtual().name("scheduling-vt-", 0).factory());
+        } else {
+            scheduler.setThreadNamePrefix("scheduling-");
+        }
+        return scheduler;
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    private boolean isVirtual() {
+        return properties.getMode() == ThreadMode.VIRTUAL;
+    }
+
+    private AsyncTaskExecutor newExecutor(String threadNamePrefix, int platformPoolSize) {
+        if (isVirtual()) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix + "vt-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(platformPoolSize);
+        executor.setMaxPoolSize(platformPoolSize);
+        return executor;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.order_service.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "thread")
+public class ThreadModeProperties {
+
+    /**
+     * Active threading model (THREAD_MODE=virtual|platform).
+     */
+    private ThreadMode mode = ThreadMode.VIRTUAL;
+
+    /**
+     * Upper bound of the @Async pool when running on platform threads.
+     */
+    private int platformAsyncPoolSize = 200;
+
+    /**
+     * Upper bound of the RabbitMQ listener pool when running on platform threads.
+     */
+    private int platformListenerPoolSize = 50;
+
+    /**
+     * Threads running @Scheduled tasks (outbox relay and cleanup, analytics flush, ...),
+     * so one slow task does not hold back the others; virtual threads in virtual mode.
+     */
+    private int schedulerPoolSize = 4;
+}
@@ -0,0 +1,63 @@
+package com.example.order_service.controller;
+
+import com.example.order_service.configuration.ThreadModeProperties;
+import com.example.order_service.models.ThreadModeResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+@RestController
+@RequestMapping(DiagnosticsController.API_V1_DIAGNOSTICS)
+public class DiagnosticsController {
+
+    public static final String API_V1 = "/v1";
+    public static final String DIAGNOSTICS = "/diagnostics";
+    public static final String API_V1_DIAGNOSTICS = API_V1 + DIAGNOSTICS;
+
+    private final String serviceName;
+    private final ThreadModeProperties threadModeProperties;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final AsyncTaskExecutor rabbitListenerTaskExecutor;
+
+    public DiagnosticsController(
+            @Value("${spring.application.name}") String serviceName,
+            ThreadModeProperties threadModeProperties,
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor applicationTaskExecutor,
+            @Qualifier("rabbitListenerTaskExecutor") AsyncTaskExecutor rabbitListenerTaskExecutor
+    ) {
+        this.serviceName = serviceName;
+        this.threadModeProperties = threadModeProperties;
+        this.applicationTaskExecutor = applicationTaskExecutor;
+        this.rabbitListenerTaskExecutor = rabbitListenerTaskExecutor;
+    }
+
+    /* =========================
+       THREAD MODE
+       ========================= */
+
+    @GetMapping("/thread-mode")
+    public ResponseEntity<ThreadModeResponse> getThreadMode() {
+        Thread current = Thread.currentThread();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        return ResponseEntity.ok(
+                ThreadModeResponse.builder()
+                        .service(serviceName)
+                        .mode(threadModeProperties.getMode())
+                        .requestThread(current.toString())
+                        .requestThreadVirtual(current.isVirtual())
+                        .asyncExecutor(applicationTaskExecutor.getClass().getSimpleName())
+                        .rabbitListenerExecutor(rabbitListenerTaskExecutor.getClass().getSimpleName())
+                        .liveThreads(threads.getThreadCount())
+                        .peakThreads(threads.getPeakThreadCount())
+                        .build()
+        );
+    }
+}
@@ -1,15 +1,30 @@
 package com.example.order_service.controller;
 
+import com.example.order_service.configuration.OrderListingProperties;
 import com.example.order_service.entity.OrderEntity;
+import com.example.order_service.models.BulkStatusUpdateRequest;
+import com.example.order_service.models.BulkStatusUpdateResponse;
 import com.example.order_service.models.OrderCreateRequest;
+import com.example.order_service.models.OrderPageResponse;
 import com.example.order_service.models.OrderResponse;
+import com.example.order_service.models.OrderRow;
+import com.example.order_service.models.OrderView;
+import com.example.order_service.services.IdempotencyStore;
+import com.example.order_service.services.OrderBulkStatusService;
+import com.example.order_service.services.OrderReadService;
 import com.example.order_service.services.OrderService;
+import com.example.order_service.utils.OrderCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
@@ -25,23 +40,47 @@ public class OrderController {
     public static final String ORDERS = "/orders";
     public static final String API_V1_ORDERS = API_V1 + ORDERS;
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final OrderReadService orderReadService;
+    private final OrderBulkStatusService orderBulkStatusService;
+    private final IdempotencyStore idempotencyStore;
+    private final OrderListingProperties listingProperties;
+    private final ObjectMapper objectMapper;
 
     /* =========================
        CREATE ORDER
        ========================= */
 
+    /**
+     * With an Idempotency-Key header, retries of the same request return the original
+     * response (marked with Idempotent-Replayed: true) instead of creating another order.
+     */
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @RequestBody OrderCreateRequest request
     ) {
         log.info("Create order request received");
 
-        OrderEntity savedOrder = orderService.createOrder(request);
+        if (idempotencyKey == null) {
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(mapToResponse(orderService.createOrder(request)));
+        }
+
+        IdempotencyStore.Outcome<OrderResponse> outcome = idempotencyStore.execute(
+                idempotencyKey,
+                request,
+                () -> mapToResponse(orderService.createOrder(request))
+        );
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(mapToResponse(savedOrder));
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(outcome.replayed()))
+                .body(outcome.value());
     }
 
     /* =========================
@@ -52,26 +91,85 @@ public class OrderController {
     public ResponseEntity<OrderResponse> getOrderById(
             @PathVariable UUID orderId
     ) {
-        OrderEntity order = orderService.getOrderById(orderId);
-        return ResponseEntity.ok(mapToResponse(order));
+        return ResponseEntity.ok(mapToResponse(orderReadService.getOrderById(orderId)));
     }
 
+    /**
+     * Keyset-paginated listing ordered by (createdAt, orderId). Pass the returned
+     * nextCursor back to get the following page.
+     */
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getOrdersByStatus(
-            @RequestParam(required = false) OrderEntity.Status status
+    public ResponseEntity<OrderPageResponse> getOrdersByStatus(
+            @RequestParam(required = false) OrderEntity.Status status,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor
     ) {
-        List<OrderEntity> orders =
-                (status == null)
-                        ? orderService.getOrdersByStatus(OrderEntity.Status.CONFIRMED)
-                        : orderService.getOrdersByStatus(status);
+        int pageSize = resolvePageSize(limit);
+        List<OrderView> orders = orderReadService.getOrdersPage(
+                statusOrDefault(status),
+                (cursor == null) ? null : OrderCursor.decode(cursor),
+                pageSize
+        );
+
+        boolean hasMore = orders.size() > pageSize;
+        List<OrderView> page = hasMore ? orders.subList(0, pageSize) : orders;
 
         return ResponseEntity.ok(
-                orders.stream()
-                        .map(this::mapToResponse)
-                        .collect(Collectors.toList())
+                OrderPageResponse.builder()
+                        .orders(page.stream()
+                                .map(this::mapToResponse)
+                                .collect(Collectors.toList()))
+                        .nextCursor(hasMore ? OrderCursor.after(page.getLast().order()).encode() : null)
+                        .build()
         );
     }
 
+    /**
+     * Streams every order with the given status as newline-delimited JSON, one order
+     * per line, without materializing the result set.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrdersByStatus(
+            @RequestParam(required = false) OrderEntity.Status status
+    ) {
+        OrderEntity.Status effectiveStatus = statusOrDefault(status);
+        int flushInterval = listingProperties.getExportFlushInterval();
+
+        StreamingResponseBody body = out -> {
+            int[] written = {0};
+            orderReadService.forEachOrderByStatus(effectiveStatus, flushInterval, order -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(mapToResponse(order)));
+                    out.write('\n');
+                    if (++written[0] % flushInterval == 0) {
+                        out.flush();
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private OrderEntity.Status statusOrDefault(OrderEntity.Status status) {
+        return (status == null) ? OrderEntity.Status.CONFIRMED : status;
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return listingProperties.getDefaultPageSize();
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, listingProperties.getMaxPageSize());
+    }
+
     /* =========================
        ORDER STATUS UPDATE
        ========================= */
@@ -87,6 +185,21 @@ public class OrderController {
         return ResponseEntity.ok(mapToResponse(updatedOrder));
     }
 
+    /* =========================
+       BULK STATUS UPDATE
+       ========================= */
+
+    /**
+     * Applies many status / payment-status transitions in one transaction and reports
+     * a result per item; invalid items do not fail the others.
+     */
+    @PatchMapping("/status")
+    public ResponseEntity<BulkStatusUpdateResponse> updateOrderStatuses(
+            @RequestBody BulkStatusUpdateRequest request
+    ) {
+        return ResponseEntity.ok(orderBulkStatusService.updateStatuses(request));
+    }
+
     /* =========================
        PAYMENT STATUS UPDATE
        ========================= */
@@ -136,6 +249,49 @@ public class OrderController {
                 .build();
     }
 
+    private OrderResponse mapToResponse(OrderView view) {
+        OrderRow order = view.order();
+        return OrderResponse.builder()
+                .orderId(order.id())
+                .status(OrderResponse.OrderStatus.valueOf(order.status().name()))
+                .paymentStatus(OrderResponse.PaymentStatus.valueOf(order.paymentStatus().name()))
+                .totalAmount(order.total())
+                .createdAt(order.createdAt())
+                .updatedAt(order.updatedAt())
+                .address(mapAddressResponse(order))
+                .products(
+                        view.lines().stream()
+                                .map(line -> OrderResponse.OrderProductResponse.builder()
+                                        .productId(line.productId())
+                                        .quantity(line.quantity())
+                                        .unitPrice(line.unitPrice())
+                                        .lineTotal(
+                                                line.unitPrice()
+                                                        .multiply(BigDecimal.valueOf(line.quantity()))
+                                        )
+                                        .build()
+                                )
+                                .collect(Collectors.toList())
+                )
+                .build();
+    }
+
+    private OrderResponse.AddressResponse mapAddressResponse(OrderRow order) {
+        // line1 is mandatory, so null means the left join found no address
+        if (order.line1() == null) {
+            return null;
+        }
+
+        return OrderResponse.AddressResponse.builder()
+                .line1(order.line1())
+                .line2(order.line2())
+                .city(order.city())
+                .state(order.state())
+                .country(order.country())
+                .postalCode(order.postalCode())
+                .build();
+    }
+
     private OrderResponse.AddressResponse mapAddressResponse(OrderEntity order) {
         if (order.getAddress() == null) {
             return null;
@@ -154,9 +310,8 @@ public class OrderController {
     /*
      * TODO (Future Enhancements):
      * - Move mapping logic to MapStruct
-     * - Add pagination & sorting
+     * - Add sorting options beyond (createdAt, orderId)
      * - Add authentication & authorization
-     * - Add idempotency key (Order-Idempotency-Key header)
      * - Emit ORDER_CREATED / PAYMENT_UPDATED events
      * - Add OpenAPI / Swagger annotations
      */
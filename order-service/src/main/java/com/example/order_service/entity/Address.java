@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.type.SqlTypes;
 
 import java.util.UUID;
@@ -18,8 +19,9 @@ import java.util.UUID;
 @Builder
 public class Address {
 
+    // Time-ordered (v7): new rows append to the right edge of the primary key index
     @Id
-    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     @JdbcTypeCode(SqlTypes.UUID)
     private UUID id;
 
@@ -3,6 +3,7 @@ package com.example.order_service.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -15,7 +16,13 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orders")
+@Table(
+        name = "orders",
+        indexes = {
+                @Index(name = "idx_orders_status_created_at_id", columnList = "status, created_at, id"),
+                @Index(name = "idx_orders_payment_status", columnList = "payment_status")
+        }
+)
 @Data
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -23,8 +30,9 @@ import java.util.UUID;
 @EntityListeners(AuditingEntityListener.class)
 public class OrderEntity {
 
+    // Time-ordered (v7): new rows append to the right edge of the primary key index
     @Id
-    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     @JdbcTypeCode(SqlTypes.UUID)
     private UUID id;
 
@@ -54,6 +62,10 @@ public class OrderEntity {
     @JoinColumn(name = "address_id")
     private Address address;
 
+    // Optimistic lock; also bumped by the conditional status updates
+    @Version
+    private long version;
+
     // ===== Auditing =====
 
     @CreatedDate
@@ -0,0 +1,75 @@
+package com.example.order_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Denormalized read-side copy of an order (CQRS query model): one flat row per order,
+ * product lines embedded as JSON. Written only by the projector after the order
+ * transaction commits; never joined with the write tables.
+ */
+@Entity
+@Table(
+        name = "order_read_model",
+        indexes = {
+                @Index(name = "idx_order_read_status_created_at_id", columnList = "status, created_at, id"),
+                @Index(name = "idx_order_read_payment_status_created_at_id", columnList = "payment_status, created_at, id"),
+                @Index(name = "idx_order_read_created_at", columnList = "created_at")
+        }
+)
+@Data
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class OrderReadModelEntity {
+
+    // Same id as the order
+    @Id
+    @JdbcTypeCode(SqlTypes.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderEntity.Status status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", nullable = false)
+    private OrderEntity.PaymentStatus paymentStatus;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    // ===== Address (flattened, null when the order has none) =====
+
+    private String line1;
+    private String line2;
+    private String city;
+    private String state;
+    private String country;
+
+    @Column(name = "postal_code")
+    private String postalCode;
+
+    // Serialized product lines
+    @Column(name = "lines_json", nullable = false, length = 16_000)
+    private String linesJson;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // Source order's @Version; snapshots with a lower version are ignored
+    @Column(name = "order_version", nullable = false)
+    private long orderVersion;
+
+    @Version
+    private long version;
+}
@@ -0,0 +1,53 @@
+package com.example.order_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Event written in the same transaction as the order change it describes,
+ * and relayed to RabbitMQ after commit (transactional outbox).
+ */
+@Entity
+@Table(
+        name = "outbox_events",
+        indexes = @Index(name = "idx_outbox_unpublished", columnList = "published_at, id")
+)
+@Data
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class OutboxEventEntity {
+
+    // Sequence = relay order; also preserves per-order event order
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    // Order the event belongs to
+    @Column(name = "aggregate_id", nullable = false)
+    @JdbcTypeCode(SqlTypes.UUID)
+    private UUID aggregateId;
+
+    @Column(nullable = false)
+    private String exchange;
+
+    @Column(name = "routing_key", nullable = false)
+    private String routingKey;
+
+    // Serialized JSON message body
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Null until the broker confirmed the message
+    @Column(name = "published_at")
+    private Instant publishedAt;
+}
@@ -0,0 +1,33 @@
+package com.example.order_service.models;
+
+import com.example.order_service.entity.OrderEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusUpdateRequest {
+
+    private List<Item> items;
+
+    /**
+     * At least one of status / paymentStatus must be set.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+
+        private UUID orderId;
+        private OrderEntity.Status status;
+        private OrderEntity.PaymentStatus paymentStatus;
+    }
+}
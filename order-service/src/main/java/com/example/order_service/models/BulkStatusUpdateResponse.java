@@ -0,0 +1,47 @@
+package com.example.order_service.models;
+
+import com.example.order_service.entity.OrderEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusUpdateResponse {
+
+    private int applied;
+    private int failed;
+
+    // Same order as the request items
+    private List<ItemResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ItemResult {
+
+        private UUID orderId;
+        private Outcome outcome;
+
+        // State after the update (current state for INVALID_TRANSITION / CONFLICT)
+        private OrderEntity.Status status;
+        private OrderEntity.PaymentStatus paymentStatus;
+
+        private String message;
+    }
+
+    public enum Outcome {
+        APPLIED,
+        NOT_FOUND,
+        INVALID_TRANSITION,
+        INVALID_REQUEST,
+        CONFLICT       // changed concurrently between validation and update; safe to retry
+    }
+}
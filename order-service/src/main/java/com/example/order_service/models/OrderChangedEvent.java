@@ -0,0 +1,10 @@
+package com.example.order_service.models;
+
+import com.example.order_service.entity.OrderEntity;
+
+/**
+ * In-process notification that an order was created or changed; delivered to
+ * listeners after the order transaction commits.
+ */
+public record OrderChangedEvent(OrderEntity order) {
+}
@@ -0,0 +1,15 @@
+package com.example.order_service.models;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Read projection of one order_products row.
+ */
+public record OrderLineRow(
+        UUID orderId,
+        UUID productId,
+        int quantity,
+        BigDecimal unitPrice
+) {
+}
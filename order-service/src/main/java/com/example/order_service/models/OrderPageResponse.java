@@ -0,0 +1,22 @@
+package com.example.order_service.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderPageResponse {
+
+    private List<OrderResponse> orders;
+
+    /**
+     * Pass back as the cursor parameter for the next page; null on the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,42 @@
+package com.example.order_service.models;
+
+import com.example.order_service.entity.OrderEntity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read projection of one order_read_model row: the flat order columns plus the
+ * still-serialized lines (no entity state).
+ */
+public record OrderReadModelRow(
+        OrderRow order,
+        String linesJson
+) {
+
+    /**
+     * Target of the JPQL constructor expression, which cannot nest.
+     */
+    public OrderReadModelRow(
+            UUID id,
+            OrderEntity.Status status,
+            OrderEntity.PaymentStatus paymentStatus,
+            BigDecimal total,
+            Instant createdAt,
+            Instant updatedAt,
+            String line1,
+            String line2,
+            String city,
+            String state,
+            String country,
+            String postalCode,
+            String linesJson
+    ) {
+        this(
+                new OrderRow(id, status, paymentStatus, total, createdAt, updatedAt,
+                        line1, line2, city, state, country, postalCode),
+                linesJson
+        );
+    }
+}
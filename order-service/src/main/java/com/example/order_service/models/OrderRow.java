@@ -0,0 +1,27 @@
+package com.example.order_service.models;
+
+import com.example.order_service.entity.OrderEntity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Flat read projection of an order and its address (one row per order, no entity state).
+ * Address columns are all null when the order has no address.
+ */
+public record OrderRow(
+        UUID id,
+        OrderEntity.Status status,
+        OrderEntity.PaymentStatus paymentStatus,
+        BigDecimal total,
+        Instant createdAt,
+        Instant updatedAt,
+        String line1,
+        String line2,
+        String city,
+        String state,
+        String country,
+        String postalCode
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.order_service.models;
+
+import com.example.order_service.entity.OrderEntity;
+
+import java.util.UUID;
+
+/**
+ * Transition-relevant state of an order (no aggregate loading).
+ */
+public record OrderStateRow(
+        UUID id,
+        OrderEntity.Status status,
+        OrderEntity.PaymentStatus paymentStatus,
+        long version
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.order_service.models;
+
+import java.util.List;
+
+/**
+ * An order row together with its product lines, assembled by the read service.
+ */
+public record OrderView(
+        OrderRow order,
+        List<OrderLineRow> lines
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.order_service.models;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk counterpart of {@link OrderChangedEvent}, for set-based updates that never
+ * load the aggregates; delivered after the transaction commits.
+ */
+public record OrdersChangedEvent(List<UUID> orderIds) {
+}
@@ -0,0 +1,29 @@
+package com.example.order_service.models;
+
+import com.example.order_service.configuration.ThreadMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThreadModeResponse {
+
+    private String service;
+    private ThreadMode mode;
+
+    // Thread that served this diagnostics request
+    private String requestThread;
+    private boolean requestThreadVirtual;
+
+    // Executor implementations actually wired for this mode
+    private String asyncExecutor;
+    private String rabbitListenerExecutor;
+
+    // JVM-wide platform thread counters (virtual threads are not counted)
+    private int liveThreads;
+    private int peakThreads;
+}
@@ -0,0 +1,70 @@
+package com.example.order_service.repository;
+
+import com.example.order_service.entity.OrderEntity;
+import com.example.order_service.entity.OrderReadModelEntity;
+import com.example.order_service.models.OrderReadModelRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface OrderReadModelRepository extends JpaRepository<OrderReadModelEntity, UUID> {
+
+    /* =========================
+       KEYSET PAGINATION (created_at, id)
+       ========================= */
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<OrderReadModelEntity> findByStatusOrderByCreatedAtAscIdAsc(OrderEntity.Status status, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            select r from OrderReadModelEntity r
+            where r.status = :status
+              and (r.createdAt > :createdAt or (r.createdAt = :createdAt and r.id > :id))
+            order by r.createdAt asc, r.id asc
+            """)
+    List<OrderReadModelEntity> findByStatusAfter(
+            @Param("status") OrderEntity.Status status,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
+    /* =========================
+       STREAMING EXPORT
+       ========================= */
+
+    /**
+     * DTO projection: nothing is attached to the persistence context, so a long export
+     * holds only the rows between the cursor and the consumer.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.example.order_service.models.OrderReadModelRow(
+                r.id, r.status, r.paymentStatus, r.total, r.createdAt, r.updatedAt,
+                r.line1, r.line2, r.city, r.state, r.country, r.postalCode, r.linesJson)
+            from OrderReadModelEntity r
+            where r.status = :status
+            order by r.createdAt asc, r.id asc
+            """)
+    Stream<OrderReadModelRow> streamByStatus(@Param("status") OrderEntity.Status status);
+
+    /* =========================
+       BACKFILL
+       ========================= */
+
+    @Query("""
+            select o.id from OrderEntity o
+            where not exists (select 1 from OrderReadModelEntity r where r.id = o.id)
+            """)
+    List<UUID> findUnprojectedOrderIds(Limit limit);
+}
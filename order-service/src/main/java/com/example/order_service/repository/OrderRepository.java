@@ -1,18 +1,28 @@
 package com.example.order_service.repository;
 
 import com.example.order_service.entity.OrderEntity;
+import com.example.order_service.models.OrderLineRow;
+import com.example.order_service.models.OrderRow;
+import com.example.order_service.models.OrderStateRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<OrderEntity, UUID> {
 
-    List<OrderEntity> findByStatus(OrderEntity.Status status);
-
-    List<OrderEntity> findByPaymentStatus(OrderEntity.PaymentStatus paymentStatus);
-
     Optional<OrderEntity> findByIdAndStatus(UUID id, OrderEntity.Status status);
 
     Optional<OrderEntity> findByIdAndPaymentStatus(UUID id, OrderEntity.PaymentStatus paymentStatus);
@@ -22,4 +32,99 @@ public interface OrderRepository extends JpaRepository<OrderEntity, UUID> {
             OrderEntity.Status status,
             OrderEntity.PaymentStatus paymentStatus
     );
+
+    /* =========================
+       CONDITIONAL TRANSITIONS
+       one statement each: the row only changes when it is still in one of the
+       allowed predecessor states, so concurrent updates cannot overwrite each other
+       ========================= */
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update OrderEntity o
+            set o.status = :next, o.version = o.version + 1, o.updatedAt = :now
+            where o.id = :id and o.status in :allowedFrom
+            """)
+    int transitionStatus(
+            @Param("id") UUID id,
+            @Param("allowedFrom") Collection<OrderEntity.Status> allowedFrom,
+            @Param("next") OrderEntity.Status next,
+            @Param("now") Instant now
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update OrderEntity o
+            set o.paymentStatus = :next, o.version = o.version + 1, o.updatedAt = :now
+            where o.id = :id and o.paymentStatus in :allowedFrom
+            """)
+    int transitionPaymentStatus(
+            @Param("id") UUID id,
+            @Param("allowedFrom") Collection<OrderEntity.PaymentStatus> allowedFrom,
+            @Param("next") OrderEntity.PaymentStatus next,
+            @Param("now") Instant now
+    );
+
+    @Query("""
+            select new com.example.order_service.models.OrderStateRow(o.id, o.status, o.paymentStatus, o.version)
+            from OrderEntity o
+            where o.id in :ids
+            """)
+    List<OrderStateRow> findStatesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @EntityGraph(attributePaths = {"address", "products"})
+    List<OrderEntity> findWithDetailsByIdIn(Collection<UUID> ids);
+
+    /**
+     * Single-order load with address and products in one statement; used wherever the
+     * caller maps the full aggregate.
+     */
+    @EntityGraph(attributePaths = {"address", "products"})
+    Optional<OrderEntity> findWithDetailsById(UUID id);
+
+    /* =========================
+       READ PROJECTIONS
+       keyset pagination on (created_at, id); lines are fetched per page
+       with findLinesByOrderIds so a page costs two statements
+       ========================= */
+
+    String ORDER_ROW = """
+            select new com.example.order_service.models.OrderRow(
+                o.id, o.status, o.paymentStatus, o.total, o.createdAt, o.updatedAt,
+                a.line1, a.line2, a.city, a.state, a.country, a.postalCode)
+            from OrderEntity o left join o.address a
+            """;
+
+    @Query(ORDER_ROW + """
+            where o.status = :status
+            order by o.createdAt asc, o.id asc
+            """)
+    List<OrderRow> findRowsByStatus(@Param("status") OrderEntity.Status status, Limit limit);
+
+    @Query(ORDER_ROW + """
+            where o.status = :status
+              and (o.createdAt > :createdAt or (o.createdAt = :createdAt and o.id > :id))
+            order by o.createdAt asc, o.id asc
+            """)
+    List<OrderRow> findRowsByStatusAfter(
+            @Param("status") OrderEntity.Status status,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Limit limit
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(ORDER_ROW + """
+            where o.status = :status
+            order by o.createdAt asc, o.id asc
+            """)
+    Stream<OrderRow> streamRowsByStatus(@Param("status") OrderEntity.Status status);
+
+    @Query("""
+            select new com.example.order_service.models.OrderLineRow(
+                o.id, p.productId, p.quantity, p.unitPrice)
+            from OrderEntity o join o.products p
+            where o.id in :orderIds
+            """)
+    List<OrderLineRow> findLinesByOrderIds(@Param("orderIds") Collection<UUID> orderIds);
 }
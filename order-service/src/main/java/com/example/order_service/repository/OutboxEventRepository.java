@@ -0,0 +1,28 @@
+package com.example.order_service.repository;
+
+import com.example.order_service.entity.OutboxEventEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    List<OutboxEventEntity> findByPublishedAtIsNullOrderByIdAsc(Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEventEntity e set e.publishedAt = :publishedAt where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEventEntity e where e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+}
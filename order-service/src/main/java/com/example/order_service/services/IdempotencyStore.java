@@ -0,0 +1,139 @@
+package com.example.order_service.services;
+
+import com.example.order_service.configuration.IdempotencyProperties;
+import com.example.order_service.utils.IdempotencyKeyInFlightException;
+import com.example.order_service.utils.IdempotencyKeyMismatchException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * In-memory idempotency key store with TTL.
+ * <p>
+ * - the first request for a key claims it (in-flight) and executes the action
+ * - concurrent duplicates wait on the in-flight result instead of re-executing
+ *   the remote-call chain; later duplicates replay the cached response until the TTL
+ * - a failed execution releases the key, so the client's retry runs again
+ * - a key reused with a different payload is rejected
+ * <p>
+ * Keys are per instance: duplicates must reach the same instance (e.g. key-affine
+ * routing at the gateway) to be deduplicated.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyProperties properties;
+    private final Cache<String, Entry> entries;
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter mismatched;
+    private final Counter timedOut;
+
+    public IdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumKeys())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+
+        Gauge.builder("order.idempotency.keys", entries, Cache::estimatedSize)
+                .register(meterRegistry);
+        this.executed = counter(meterRegistry, "executed");
+        this.replayed = counter(meterRegistry, "replayed");
+        this.mismatched = counter(meterRegistry, "mismatched");
+        this.timedOut = counter(meterRegistry, "timed_out");
+    }
+
+    /**
+     * Runs the action at most once per key (while it succeeds) and returns its result,
+     * or the result of the execution that already owns the key.
+     *
+     * @param fingerprint request payload; duplicates must carry an equal one
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Outcome<T> execute(String key, Object fingerprint, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        if (!properties.isEnabled()) {
+            return new Outcome<>(action.get(), false);
+        }
+
+        while (true) {
+            Entry claim = new Entry(fingerprint, new CompletableFuture<>());
+            Entry existing = entries.asMap().putIfAbsent(key, claim);
+
+            if (existing == null) {
+                return new Outcome<>((T) runClaimed(key, claim, action), false);
+            }
+
+            if (!Objects.equals(existing.fingerprint(), fingerprint)) {
+                mismatched.increment();
+                throw new IdempotencyKeyMismatchException(
+                        "Idempotency key already used with a different request: " + key
+                );
+            }
+
+            try {
+                Object result = existing.response()
+                        .get(properties.getInFlightWait().toNanos(), TimeUnit.NANOSECONDS);
+                replayed.increment();
+                return new Outcome<>((T) result, true);
+            } catch (ExecutionException ex) {
+                // the original failed and released the key; claim it ourselves
+                log.debug("Idempotent original failed, retrying. key={}", key);
+            } catch (TimeoutException ex) {
+                timedOut.increment();
+                throw new IdempotencyKeyInFlightException(
+                        "Request with idempotency key " + key + " is still in progress"
+                );
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for idempotent request " + key, ex);
+            }
+        }
+    }
+
+    private Object runClaimed(String key, Entry claim, Supplier<?> action) {
+        executed.increment();
+        try {
+            Object result = action.get();
+            claim.response().complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            entries.asMap().remove(key, claim);
+            claim.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("order.idempotency.requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param replayed true when the value comes from an earlier execution
+     */
+    public record Outcome<T>(T value, boolean replayed) {
+    }
+
+    private record Entry(Object fingerprint, CompletableFuture<Object> response) {
+    }
+}
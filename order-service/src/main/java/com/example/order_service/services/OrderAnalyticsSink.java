@@ -0,0 +1,181 @@
+package com.example.order_service.services;
+
+import com.example.order_service.configuration.OrderAnalyticsProperties;
+import com.example.order_service.utils.RabbitMQPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.example.order_service.configuration.RabbitMQConfig.ORDER_ANALYTICS_FANOUT_EXCHANGE;
+
+/**
+ * Fire-and-forget sink for read-path analytics.
+ * <p>
+ * Readers only claim a slot in a fixed-size ring buffer (one atomic increment and
+ * one array write, never blocking and never touching the broker). A scheduled
+ * flusher drains the ring, aggregates fetch counts per order and publishes one
+ * summary event per interval. If readers lap the flusher, the oldest reads are
+ * overwritten and counted as dropped.
+ */
+@Component
+@Slf4j
+public class OrderAnalyticsSink implements DisposableBean {
+
+    static final String EVENT_TYPE = "ORDER_FETCHED_SUMMARY";
+
+    private final RabbitMQPublisher rabbitMQPublisher;
+    private final OrderAnalyticsProperties properties;
+
+    private final AtomicReferenceArray<Slot> ring;
+    private final int mask;
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    // only advanced by the flusher (flush is synchronized)
+    private long readSequence;
+    private Instant windowStart = Instant.now();
+
+    private final Counter recorded;
+    private final Counter sampledOut;
+    private final Counter overwritten;
+    private final Counter publishFailed;
+
+    public OrderAnalyticsSink(
+            RabbitMQPublisher rabbitMQPublisher,
+            OrderAnalyticsProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        if (properties.getSampleRate() < 0 || properties.getSampleRate() > 1) {
+            throw new IllegalArgumentException(
+                    "order-analytics.sample-rate must be within [0, 1]: " + properties.getSampleRate()
+            );
+        }
+        this.rabbitMQPublisher = rabbitMQPublisher;
+        this.properties = properties;
+
+        int capacity = Integer.highestOneBit(Math.max(2, properties.getBufferCapacity() - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+
+        Gauge.builder("order.analytics.buffered", this, sink -> sink.buffered())
+                .register(meterRegistry);
+        this.recorded = Counter.builder("order.analytics.recorded")
+                .register(meterRegistry);
+        this.sampledOut = Counter.builder("order.analytics.sampled.out")
+                .register(meterRegistry);
+        this.overwritten = Counter.builder("order.analytics.dropped")
+                .tag("reason", "overwritten")
+                .register(meterRegistry);
+        this.publishFailed = Counter.builder("order.analytics.dropped")
+                .tag("reason", "publish")
+                .register(meterRegistry);
+    }
+
+    /* =========================
+       READ PATH
+       ========================= */
+
+    /**
+     * Records one order read. Never blocks.
+     */
+    public void recordFetch(UUID orderId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        double sampleRate = properties.getSampleRate();
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOut.increment();
+            return;
+        }
+        long sequence = writeSequence.getAndIncrement();
+        ring.set((int) (sequence & mask), new Slot(sequence, orderId));
+        recorded.increment();
+    }
+
+    /* =========================
+       FLUSH
+       ========================= */
+
+    @Scheduled(fixedDelayString = "${order-analytics.flush-interval:1s}")
+    public synchronized void flush() {
+        long end = writeSequence.get();
+        long start = readSequence;
+        long lost = 0;
+
+        if (end - start > ring.length()) {
+            lost = end - start - ring.length();
+            start = end - ring.length();
+        }
+
+        Map<UUID, Long> fetches = new HashMap<>();
+        long sampled = 0;
+        for (long sequence = start; sequence < end; sequence++) {
+            Slot slot = ring.get((int) (sequence & mask));
+            // overwritten by a reader that lapped us, or claimed but not yet written
+            if (slot == null || slot.sequence() != sequence) {
+                lost++;
+                continue;
+            }
+            fetches.merge(slot.orderId(), 1L, Long::sum);
+            sampled++;
+        }
+        readSequence = end;
+
+        if (lost > 0) {
+            overwritten.increment(lost);
+        }
+
+        Instant windowEnd = Instant.now();
+        if (sampled > 0) {
+            publishSummary(windowStart, windowEnd, sampled, fetches);
+        }
+        windowStart = windowEnd;
+    }
+
+    private void publishSummary(Instant from, Instant to, long sampled, Map<UUID, Long> fetches) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("eventType", EVENT_TYPE);
+        payload.put("windowStart", from.toString());
+        payload.put("windowEnd", to.toString());
+        payload.put("sampleRate", properties.getSampleRate());
+        payload.put("sampledFetches", sampled);
+        payload.put("estimatedFetches", Math.round(sampled / properties.getSampleRate()));
+        payload.put("fetchesByOrder", fetches);
+
+        try {
+            rabbitMQPublisher.publish(ORDER_ANALYTICS_FANOUT_EXCHANGE, "", payload)
+                    .exceptionally(ex -> {
+                        publishFailed.increment(sampled);
+                        log.warn("Order analytics summary dropped. fetches={}, reason={}", sampled, ex.getMessage());
+                        return null;
+                    });
+        } catch (IllegalStateException ex) {
+            publishFailed.increment(sampled);
+            log.warn("Order analytics summary dropped. fetches={}, reason={}", sampled, ex.getMessage());
+        }
+    }
+
+    private long buffered() {
+        return Math.min(writeSequence.get() - readSequence, ring.length());
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    private record Slot(long sequence, UUID orderId) {
+    }
+}
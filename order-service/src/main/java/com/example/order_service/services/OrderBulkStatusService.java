@@ -0,0 +1,317 @@
+package com.example.order_service.services;
+
+import com.example.order_service.configuration.StatusUpdateProperties;
+import com.example.order_service.entity.OrderEntity;
+import com.example.order_service.models.BulkStatusUpdateRequest;
+import com.example.order_service.models.BulkStatusUpdateResponse;
+import com.example.order_service.models.BulkStatusUpdateResponse.ItemResult;
+import com.example.order_service.models.BulkStatusUpdateResponse.Outcome;
+import com.example.order_service.models.OrderStateRow;
+import com.example.order_service.models.OrdersChangedEvent;
+import com.example.order_service.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.example.order_service.services.OrderService.isValidOrderTransition;
+import static com.example.order_service.services.OrderService.isValidPaymentTransition;
+
+/**
+ * Set-based status / payment-status updates for many orders in one transaction.
+ * <p>
+ * 1. current states of all orders are read in one query (no aggregate loading)
+ * 2. transitions are validated in memory with the same rules as the single-order PATCH
+ * 3. valid items are written with one JDBC batch of version-checked updates; an item
+ *    whose version moved in between is reported as CONFLICT instead of overwritten
+ * 4. events for applied items go to the outbox in the same transaction, so the relay
+ *    publishes them as one confirmed batch after commit
+ */
+@Service
+@Slf4j
+public class OrderBulkStatusService {
+
+    private static final String UPDATE_SQL = """
+            update orders
+            set status = ?, payment_status = ?, version = version + 1, updated_at = ?
+            where id = ? and version = ?
+            """;
+
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderEventOutbox orderEventOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StatusUpdateProperties properties;
+    private final Map<Outcome, Counter> itemCounters = new EnumMap<>(Outcome.class);
+
+    public OrderBulkStatusService(
+            OrderRepository orderRepository,
+            JdbcTemplate jdbcTemplate,
+            OrderEventOutbox orderEventOutbox,
+            ApplicationEventPublisher eventPublisher,
+            StatusUpdateProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.orderRepository = orderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.orderEventOutbox = orderEventOutbox;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+
+        for (Outcome outcome : Outcome.values()) {
+            itemCounters.put(outcome, Counter.builder("order.status.bulk.items")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Transactional
+    public BulkStatusUpdateResponse updateStatuses(BulkStatusUpdateRequest request) {
+        List<BulkStatusUpdateRequest.Item> items =
+                (request == null || request.getItems() == null) ? List.of() : request.getItems();
+
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("Bulk status update requires at least one item");
+        }
+        if (items.size() > properties.getBulkMaxItems()) {
+            throw new IllegalArgumentException(
+                    "Bulk status update accepts at most " + properties.getBulkMaxItems() + " items"
+            );
+        }
+
+    /* =========================
+       1️⃣ LOAD CURRENT STATES (ONE QUERY)
+       ========================= */
+
+        Set<UUID> ids = items.stream()
+                .map(BulkStatusUpdateRequest.Item::getOrderId)
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+        Map<UUID, OrderStateRow> states = orderRepository.findStatesByIdIn(ids).stream()
+                .collect(Collectors.toMap(OrderStateRow::id, Function.identity()));
+
+    /* =========================
+       2️⃣ VALIDATE IN MEMORY
+       ========================= */
+
+        ItemResult[] results = new ItemResult[items.size()];
+        List<Integer> accepted = new ArrayList<>();
+        Set<UUID> seen = new HashSet<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            BulkStatusUpdateRequest.Item item = items.get(i);
+            results[i] = validate(item, states.get(item.getOrderId()), seen);
+            if (results[i] == null) {
+                accepted.add(i);
+            }
+        }
+
+    /* =========================
+       3️⃣ APPLY (ONE JDBC BATCH)
+       ========================= */
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batchArgs = new ArrayList<>(accepted.size());
+        for (int index : accepted) {
+            BulkStatusUpdateRequest.Item item = items.get(index);
+            OrderStateRow state = states.get(item.getOrderId());
+            batchArgs.add(new Object[]{
+                    targetStatus(item, state).name(),
+                    targetPaymentStatus(item, state).name(),
+                    now,
+                    item.getOrderId(),
+                    state.version()
+            });
+        }
+        int[] updateCounts = batchArgs.isEmpty()
+                ? new int[0]
+                : jdbcTemplate.batchUpdate(UPDATE_SQL, batchArgs);
+        Map<UUID, OrderStateRow> unreported = readBackUnreported(items, accepted, updateCounts);
+
+    /* =========================
+       4️⃣ RECORD EVENTS (OUTBOX, SAME TRANSACTION)
+       ========================= */
+
+        List<UUID> changed = new ArrayList<>(accepted.size());
+        for (int n = 0; n < accepted.size(); n++) {
+            int index = accepted.get(n);
+            BulkStatusUpdateRequest.Item item = items.get(index);
+            OrderStateRow state = states.get(item.getOrderId());
+
+            boolean applied = (updateCounts[n] == Statement.SUCCESS_NO_INFO)
+                    ? wasApplied(item, state, unreported.get(item.getOrderId()))
+                    : updateCounts[n] == 1;
+            if (!applied) {
+                results[index] = result(item.getOrderId(), Outcome.CONFLICT, state,
+                        "Order changed concurrently; retry the item");
+                continue;
+            }
+
+            recordEvents(item, state);
+            changed.add(item.getOrderId());
+            results[index] = ItemResult.builder()
+                    .orderId(item.getOrderId())
+                    .outcome(Outcome.APPLIED)
+                    .status(targetStatus(item, state))
+                    .paymentStatus(targetPaymentStatus(item, state))
+                    .build();
+        }
+
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new OrdersChangedEvent(changed));
+        }
+
+        List<ItemResult> resultList = List.of(results);
+        resultList.forEach(result -> itemCounters.get(result.getOutcome()).increment());
+
+        log.info("Bulk status update applied {}/{} items", changed.size(), items.size());
+
+        return BulkStatusUpdateResponse.builder()
+                .applied(changed.size())
+                .failed(items.size() - changed.size())
+                .results(resultList)
+                .build();
+    }
+
+    /**
+     * Some drivers report batched statements as SUCCESS_NO_INFO, which says nothing about
+     * whether the version check matched. Those orders are read back in one query, inside
+     * the same transaction, so the batch's own writes are visible.
+     */
+    private Map<UUID, OrderStateRow> readBackUnreported(
+            List<BulkStatusUpdateRequest.Item> items,
+            List<Integer> accepted,
+            int[] updateCounts
+    ) {
+        Set<UUID> ids = new HashSet<>();
+        for (int n = 0; n < accepted.size(); n++) {
+            if (updateCounts[n] == Statement.SUCCESS_NO_INFO) {
+                ids.add(items.get(accepted.get(n)).getOrderId());
+            }
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return orderRepository.findStatesByIdIn(ids).stream()
+                .collect(Collectors.toMap(OrderStateRow::id, Function.identity()));
+    }
+
+    /**
+     * Only this batch's update moves the version exactly one past the state it was
+     * validated against and lands on the target statuses.
+     */
+    private boolean wasApplied(BulkStatusUpdateRequest.Item item, OrderStateRow before, OrderStateRow after) {
+        return after != null
+                && after.version() == before.version() + 1
+                && after.status() == targetStatus(item, before)
+                && after.paymentStatus() == targetPaymentStatus(item, before);
+    }
+
+    /**
+     * @return null when the item is valid, otherwise its failure result
+     */
+    private ItemResult validate(BulkStatusUpdateRequest.Item item, OrderStateRow state, Set<UUID> seen) {
+        UUID orderId = item.getOrderId();
+
+        if (orderId == null || (item.getStatus() == null && item.getPaymentStatus() == null)) {
+            return result(orderId, Outcome.INVALID_REQUEST, null,
+                    "orderId and at least one of status / paymentStatus are required");
+        }
+        if (!seen.add(orderId)) {
+            return result(orderId, Outcome.INVALID_REQUEST, null,
+                    "Order appears more than once in the request");
+        }
+        if (state == null) {
+            return result(orderId, Outcome.NOT_FOUND, null, "Order not found: " + orderId);
+        }
+        if (item.getStatus() != null && !isValidOrderTransition(state.status(), item.getStatus())) {
+            return result(orderId, Outcome.INVALID_TRANSITION, state,
+                    "Invalid order status transition from " + state.status() + " to " + item.getStatus());
+        }
+        if (item.getPaymentStatus() != null
+                && !isValidPaymentTransition(state.paymentStatus(), item.getPaymentStatus())) {
+            return result(orderId, Outcome.INVALID_TRANSITION, state,
+                    "Invalid payment status transition from " + state.paymentStatus()
+                            + " to " + item.getPaymentStatus());
+        }
+        return null;
+    }
+
+    private void recordEvents(BulkStatusUpdateRequest.Item item, OrderStateRow state) {
+        UUID orderId = item.getOrderId();
+        long timestamp = System.currentTimeMillis();
+
+        if (item.getStatus() != null) {
+            orderEventOutbox.orderStatusEvent(
+                    orderId,
+                    item.getStatus().name(),
+                    Map.of(
+                            "orderId", orderId,
+                            "status", item.getStatus(),
+                            "timestamp", timestamp
+                    )
+            );
+            orderEventOutbox.orderAnalyticsEvent(
+                    orderId,
+                    Map.of(
+                            "eventType", "ORDER_STATUS_UPDATED",
+                            "orderId", orderId,
+                            "status", item.getStatus()
+                    )
+            );
+        }
+        if (item.getPaymentStatus() != null) {
+            orderEventOutbox.paymentStatusEvent(
+                    orderId,
+                    item.getPaymentStatus().name(),
+                    Map.of(
+                            "orderId", orderId,
+                            "paymentStatus", item.getPaymentStatus(),
+                            "timestamp", timestamp
+                    )
+            );
+            orderEventOutbox.orderAnalyticsEvent(
+                    orderId,
+                    Map.of(
+                            "eventType", "PAYMENT_STATUS_UPDATED",
+                            "orderId", orderId,
+                            "paymentStatus", item.getPaymentStatus()
+                    )
+            );
+        }
+    }
+
+    private OrderEntity.Status targetStatus(BulkStatusUpdateRequest.Item item, OrderStateRow state) {
+        return (item.getStatus() != null) ? item.getStatus() : state.status();
+    }
+
+    private OrderEntity.PaymentStatus targetPaymentStatus(BulkStatusUpdateRequest.Item item, OrderStateRow state) {
+        return (item.getPaymentStatus() != null) ? item.getPaymentStatus() : state.paymentStatus();
+    }
+
+    private ItemResult result(UUID orderId, Outcome outcome, OrderStateRow state, String message) {
+        return ItemResult.builder()
+                .orderId(orderId)
+                .outcome(outcome)
+                .status(state == null ? null : state.status())
+                .paymentStatus(state == null ? null : state.paymentStatus())
+                .message(message)
+                .build();
+    }
+}
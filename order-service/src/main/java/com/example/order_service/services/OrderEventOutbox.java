@@ -0,0 +1,70 @@
+package com.example.order_service.services;
+
+import com.example.order_service.entity.OutboxEventEntity;
+import com.example.order_service.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static com.example.order_service.configuration.RabbitMQConfig.*;
+
+/**
+ * Records order / payment events in the outbox table as part of the caller's
+ * transaction. Nothing reaches RabbitMQ unless that transaction commits;
+ * {@link OutboxRelay} publishes the rows afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class OrderEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public void orderStatusEvent(UUID orderId, String status, Object payload) {
+        append(orderId, ORDER_STATUS_TOPIC_EXCHANGE, orderStatusRoutingKey(status), payload);
+    }
+
+    public void orderAnalyticsEvent(UUID orderId, Object payload) {
+        append(orderId, ORDER_ANALYTICS_FANOUT_EXCHANGE, "", payload);
+    }
+
+    public void paymentStatusEvent(UUID orderId, String paymentStatus, Object payload) {
+        append(orderId, PAYMENT_STATUS_TOPIC_EXCHANGE, paymentStatusRoutingKey(paymentStatus), payload);
+    }
+
+    /* =========================================================
+       ROUTING KEYS
+       ========================================================= */
+
+    /**
+     * e.g. order.status.confirmed, order.status.cancelled
+     */
+    static String orderStatusRoutingKey(String status) {
+        return "order.status." + status.toLowerCase();
+    }
+
+    /**
+     * e.g. payment.status.initiated, payment.status.failed
+     */
+    static String paymentStatusRoutingKey(String paymentStatus) {
+        return "payment.status." + paymentStatus.toLowerCase();
+    }
+
+    private void append(UUID orderId, String exchange, String routingKey, Object payload) {
+        outboxEventRepository.save(
+                OutboxEventEntity.builder()
+                        .aggregateId(orderId)
+                        .exchange(exchange)
+                        .routingKey(routingKey)
+                        .payload(objectMapper.writeValueAsString(payload))
+                        .createdAt(Instant.now())
+                        .build()
+        );
+    }
+}
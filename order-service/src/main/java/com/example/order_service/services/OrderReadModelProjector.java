@@ -0,0 +1,221 @@
+package com.example.order_service.services;
+
+import com.example.order_service.configuration.OrderReadModelProperties;
+import com.example.order_service.entity.OrderEntity;
+import com.example.order_service.entity.OrderReadModelEntity;
+import com.example.order_service.models.OrderChangedEvent;
+import com.example.order_service.models.OrderLineRow;
+import com.example.order_service.models.OrdersChangedEvent;
+import com.example.order_service.repository.OrderReadModelRepository;
+import com.example.order_service.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the order read model in sync with the write side.
+ * <p>
+ * Each committed order change is projected asynchronously into one flat row.
+ * Projections are ordered by the order's @Version: a snapshot older than the
+ * stored row is ignored, and a concurrent projection of the same order
+ * (insert race or @Version conflict) is retried with the same snapshot.
+ */
+@Component
+@Slf4j
+public class OrderReadModelProjector {
+
+    private final OrderReadModelRepository readModelRepository;
+    private final OrderRepository orderRepository;
+    private final OrderReadModelProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter applied;
+    private final Counter stale;
+    private final Counter failed;
+    private final Timer lag;
+
+    public OrderReadModelProjector(
+            OrderReadModelRepository readModelRepository,
+            OrderRepository orderRepository,
+            OrderReadModelProperties properties,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.readModelRepository = readModelRepository;
+        this.orderRepository = orderRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.applied = counter(meterRegistry, "applied");
+        this.stale = counter(meterRegistry, "stale");
+        this.failed = counter(meterRegistry, "failed");
+        this.lag = Timer.builder("order.read-model.lag")
+                .description("Time between an order change and its projection")
+                .register(meterRegistry);
+    }
+
+    /* =========================
+       LIVE PROJECTION
+       ========================= */
+
+    @Async
+    @TransactionalEventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        project(event.order());
+    }
+
+    /**
+     * Set-based updates only carry ids; the changed aggregates are loaded in chunks
+     * and projected like single changes.
+     */
+    @Async
+    @TransactionalEventListener
+    public void onOrdersChanged(OrdersChangedEvent event) {
+        List<UUID> ids = event.orderIds();
+        int chunkSize = properties.getBackfillBatchSize();
+
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            List<OrderEntity> orders = transactionTemplate.execute(status ->
+                    orderRepository.findWithDetailsByIdIn(chunk)
+            );
+            orders.forEach(this::project);
+        }
+    }
+
+    /**
+     * @return false when every attempt failed
+     */
+    public boolean project(OrderEntity order) {
+        OrderReadModelEntity snapshot = toReadModel(order);
+
+        for (int attempt = 1; attempt <= properties.getMaxAttempts(); attempt++) {
+            try {
+                Boolean written = transactionTemplate.execute(status -> upsert(snapshot));
+                if (Boolean.TRUE.equals(written)) {
+                    applied.increment();
+                    lag.record(Duration.between(snapshot.getUpdatedAt(), Instant.now()));
+                } else {
+                    stale.increment();
+                }
+                return true;
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException ex) {
+                log.debug("Read model projection conflict. orderId={}, attempt={}", order.getId(), attempt);
+            } catch (RuntimeException ex) {
+                log.warn("Read model projection failed. orderId={}", order.getId(), ex);
+                break;
+            }
+        }
+        failed.increment();
+        return false;
+    }
+
+    private boolean upsert(OrderReadModelEntity snapshot) {
+        OrderReadModelEntity current = readModelRepository.findById(snapshot.getId()).orElse(null);
+
+        if (current == null) {
+            readModelRepository.saveAndFlush(snapshot);
+            return true;
+        }
+        if (current.getOrderVersion() > snapshot.getOrderVersion()) {
+            return false;
+        }
+
+        snapshot.setVersion(current.getVersion());
+        readModelRepository.saveAndFlush(snapshot);
+        return true;
+    }
+
+    /* =========================
+       BACKFILL
+       ========================= */
+
+    /**
+     * Projects orders that have no read row yet (written while the projector was
+     * down, or before the read model existed).
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int projected = 0;
+        List<UUID> missing;
+        while (!(missing = readModelRepository.findUnprojectedOrderIds(
+                Limit.of(properties.getBackfillBatchSize()))).isEmpty()) {
+            int before = projected;
+            for (UUID orderId : missing) {
+                OrderEntity order = transactionTemplate.execute(status ->
+                        orderRepository.findWithDetailsById(orderId).orElse(null)
+                );
+                if (order != null && project(order)) {
+                    projected++;
+                }
+            }
+            // only permanently failing orders left
+            if (projected == before) {
+                break;
+            }
+        }
+        if (projected > 0) {
+            log.info("Read model backfill projected {} orders", projected);
+        }
+    }
+
+    /* =========================
+       MAPPING
+       ========================= */
+
+    private OrderReadModelEntity toReadModel(OrderEntity order) {
+        List<OrderLineRow> lines = order.getProducts().stream()
+                .map(p -> new OrderLineRow(order.getId(), p.getProductId(), p.getQuantity(), p.getUnitPrice()))
+                .toList();
+
+        OrderReadModelEntity.OrderReadModelEntityBuilder row = OrderReadModelEntity.builder()
+                .id(order.getId())
+                .status(order.getStatus())
+                .paymentStatus(order.getPaymentStatus())
+                .total(order.getTotal())
+                .linesJson(objectMapper.writeValueAsString(lines))
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .orderVersion(order.getVersion());
+
+        if (order.getAddress() != null) {
+            row.line1(order.getAddress().getLine1())
+                    .line2(order.getAddress().getLine2())
+                    .city(order.getAddress().getCity())
+                    .state(order.getAddress().getState())
+                    .country(order.getAddress().getCountry())
+                    .postalCode(order.getAddress().getPostalCode());
+        }
+        return row.build();
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("order.read-model.projections")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.order_service.services;
+
+import com.example.order_service.configuration.OrderReadModelProperties;
+import com.example.order_service.entity.OrderEntity;
+import com.example.order_service.entity.OrderReadModelEntity;
+import com.example.order_service.models.OrderLineRow;
+import com.example.order_service.models.OrderReadModelRow;
+import com.example.order_service.models.OrderRow;
+import com.example.order_service.models.OrderView;
+import com.example.order_service.repository.OrderReadModelRepository;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.utils.OrderCursor;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Query side for orders.
+ * <p>
+ * Served from the denormalized read model (one flat row per order, kept up to date by
+ * {@link OrderReadModelProjector} asynchronously after commit), so reads never touch the
+ * tables that createOrder and the status updates write, and may briefly lag them. With
+ * order.read-model.enabled=false, the same views are projected from the order tables
+ * instead (two statements per page).
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderReadService {
+
+    private static final TypeReference<List<OrderLineRow>> LINES = new TypeReference<>() {
+    };
+
+    private final OrderRepository orderRepository;
+    private final OrderReadModelRepository readModelRepository;
+    private final OrderReadModelProperties readModelProperties;
+    private final OrderAnalyticsSink orderAnalyticsSink;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Eventually consistent: falls back to the order tables only while a just-created
+     * order has no read row yet. After a status, payment or bulk update the previous
+     * row is served until {@link OrderReadModelProjector} has applied the change.
+     */
+    public OrderView getOrderById(UUID id) {
+        orderAnalyticsSink.recordFetch(id);
+
+        if (readModelProperties.isEnabled()) {
+            OrderReadModelEntity row = readModelRepository.findById(id).orElse(null);
+            if (row != null) {
+                return toView(row);
+            }
+        }
+        return orderRepository.findWithDetailsById(id)
+                .map(this::toView)
+                .orElseThrow(() ->
+                        new EntityNotFoundException("Order not found: " + id)
+                );
+    }
+
+    /**
+     * One keyset page ordered by (created_at, id); fetches limit + 1 rows so the
+     * caller can tell whether another page exists.
+     */
+    public List<OrderView> getOrdersPage(
+            OrderEntity.Status status,
+            OrderCursor after,
+            int limit
+    ) {
+        Limit pageLimit = Limit.of(limit + 1);
+
+        if (readModelProperties.isEnabled()) {
+            List<OrderReadModelEntity> rows = (after == null)
+                    ? readModelRepository.findByStatusOrderByCreatedAtAscIdAsc(status, pageLimit)
+                    : readModelRepository.findByStatusAfter(status, after.createdAt(), after.id(), pageLimit);
+            return rows.stream().map(this::toView).toList();
+        }
+
+        List<OrderRow> rows = (after == null)
+                ? orderRepository.findRowsByStatus(status, pageLimit)
+                : orderRepository.findRowsByStatusAfter(status, after.createdAt(), after.id(), pageLimit);
+        return withLines(rows);
+    }
+
+    /**
+     * Streams every order with the given status through the action inside one read-only
+     * transaction, chunkSize orders at a time, so memory stays flat regardless of the
+     * result size.
+     */
+    public void forEachOrderByStatus(
+            OrderEntity.Status status,
+            int chunkSize,
+            Consumer<OrderView> action
+    ) {
+        if (readModelProperties.isEnabled()) {
+            try (Stream<OrderReadModelRow> rows = readModelRepository.streamByStatus(status)) {
+                rows.map(this::toView).forEachOrdered(action);
+            }
+            return;
+        }
+
+        List<OrderRow> chunk = new ArrayList<>(chunkSize);
+        try (Stream<OrderRow> rows = orderRepository.streamRowsByStatus(status)) {
+            rows.forEachOrdered(row -> {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    withLines(chunk).forEach(action);
+                    chunk.clear();
+                }
+            });
+        }
+        withLines(chunk).forEach(action);
+    }
+
+    /* =========================
+       MAPPING
+       ========================= */
+
+    private List<OrderView> withLines(List<OrderRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, List<OrderLineRow>> linesByOrder = new HashMap<>();
+        orderRepository.findLinesByOrderIds(rows.stream().map(OrderRow::id).toList())
+                .forEach(line ->
+                        linesByOrder.computeIfAbsent(line.orderId(), id -> new ArrayList<>()).add(line)
+                );
+
+        return rows.stream()
+                .map(row -> new OrderView(row, linesByOrder.getOrDefault(row.id(), List.of())))
+                .toList();
+    }
+
+    private OrderView toView(OrderReadModelRow row) {
+        return new OrderView(row.order(), objectMapper.readValue(row.linesJson(), LINES));
+    }
+
+    private OrderView toView(OrderReadModelEntity row) {
+        return new OrderView(
+                new OrderRow(
+                        row.getId(), row.getStatus(), row.getPaymentStatus(), row.getTotal(),
+                        row.getCreatedAt(), row.getUpdatedAt(),
+                        row.getLine1(), row.getLine2(), row.getCity(), row.getState(),
+                        row.getCountry(), row.getPostalCode()
+                ),
+                objectMapper.readValue(row.getLinesJson(), LINES)
+        );
+    }
+
+    private OrderView toView(OrderEntity order) {
+        boolean hasAddress = order.getAddress() != null;
+        return new OrderView(
+                new OrderRow(
+                        order.getId(), order.getStatus(), order.getPaymentStatus(), order.getTotal(),
+                        order.getCreatedAt(), order.getUpdatedAt(),
+                        hasAddress ? order.getAddress().getLine1() : null,
+                        hasAddress ? order.getAddress().getLine2() : null,
+                        hasAddress ? order.getAddress().getCity() : null,
+                        hasAddress ? order.getAddress().getState() : null,
+                        hasAddress ? order.getAddress().getCountry() : null,
+                        hasAddress ? order.getAddress().getPostalCode() : null
+                ),
+                order.getProducts().stream()
+                        .map(p -> new OrderLineRow(order.getId(), p.getProductId(), p.getQuantity(), p.getUnitPrice()))
+                        .toList()
+        );
+    }
+}
@@ -1,24 +1,41 @@
 package com.example.order_service.services;
 
+import com.example.order_service.configuration.FanOutProperties;
+import com.example.order_service.configuration.InventoryProperties;
+import com.example.order_service.configuration.StatusUpdateProperties;
 import com.example.order_service.entity.Address;
 import com.example.order_service.entity.OrderEntity;
 import com.example.order_service.models.InventoryBulkReduceRequest;
 import com.example.order_service.models.InventoryReduceResponse;
+import com.example.order_service.models.OrderChangedEvent;
 import com.example.order_service.models.OrderCreateRequest;
 import com.example.order_service.models.ProductSnapshot;
 import com.example.order_service.repository.OrderRepository;
-import com.example.order_service.utils.RabbitMQSender;
+import com.example.order_service.utils.BulkheadFullException;
+import com.example.order_service.utils.FanOutScope;
 import com.example.order_service.utils.RestClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,23 +43,70 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderService {
 
-    private static final String PRODUCT_SERVICE_BASE_URL = "http://localhost:5000";
+    static final String PRODUCT_SERVICE_BASE_URL = "http://localhost:5000";
+
+    private static final String STATUS_FIELD = "status";
+    private static final String PAYMENT_STATUS_FIELD = "payment_status";
+    private static final String RESERVATION_KEY_HEADER = "Idempotency-Key";
 
     private final OrderRepository orderRepository;
     private final RestClient restClient;
-    private final RabbitMQSender rabbitMQSender;
-
-    public OrderService(OrderRepository orderRepository, RestClient restClient, RabbitMQSender rabbitMQSender) {
+    private final ProductSnapshotCache productSnapshotCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderEventOutbox orderEventOutbox;
+    private final ThreadFactory fanOutThreadFactory;
+    private final FanOutProperties fanOutProperties;
+    private final InventoryProperties inventoryProperties;
+    private final StatusUpdateProperties statusUpdateProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, Counter> appliedTransitions;
+    private final Map<String, Counter> rejectedTransitions;
+    private final Map<String, Counter> conflictedTransitions;
+
+    public OrderService(
+            OrderRepository orderRepository,
+            RestClient restClient,
+            ProductSnapshotCache productSnapshotCache,
+            ApplicationEventPublisher eventPublisher,
+            OrderEventOutbox orderEventOutbox,
+            ThreadFactory fanOutThreadFactory,
+            FanOutProperties fanOutProperties,
+            InventoryProperties inventoryProperties,
+            StatusUpdateProperties statusUpdateProperties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
         this.orderRepository = orderRepository;
         this.restClient = restClient;
-        this.rabbitMQSender = rabbitMQSender;
+        this.productSnapshotCache = productSnapshotCache;
+        this.eventPublisher = eventPublisher;
+        this.orderEventOutbox = orderEventOutbox;
+        this.fanOutThreadFactory = fanOutThreadFactory;
+        this.fanOutProperties = fanOutProperties;
+        this.inventoryProperties = inventoryProperties;
+        this.statusUpdateProperties = statusUpdateProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.appliedTransitions = transitionCounters(meterRegistry, "applied");
+        this.rejectedTransitions = transitionCounters(meterRegistry, "rejected");
+        this.conflictedTransitions = transitionCounters(meterRegistry, "conflict");
     }
 
     /* =========================
        CREATE ORDER
        ========================= */
 
-    @Transactional
+    /**
+     * Remote work runs before any transaction: the product lookup, pricing and then the
+     * inventory reservation. The JDBC connection is only held by the short persist
+     * transaction (order rows + outbox events); if that fails, the reservation is released.
+     * <p>
+     * With {@code order.inventory.speculative-reservation} the reservation is instead
+     * forked alongside the lookup and released again on any later failure, which needs the
+     * release endpoint (see {@link InventoryProperties#getReleasePath()}).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderEntity createOrder(OrderCreateRequest orderRequest) {
 
         OrderEntity order = OrderEntity.builder()
@@ -53,7 +117,7 @@ public class OrderService {
         validateOrderStructure(order);
 
     /* =========================
-       1️⃣ FETCH PRODUCT DATA
+       1️⃣ FETCH PRODUCT DATA (∥ RESERVE INVENTORY WHEN SPECULATIVE)
        ========================= */
 
         List<UUID> productIds = order.getProducts()
@@ -61,89 +125,56 @@ public class OrderService {
                 .map(OrderEntity.OrderProduct::getProductId)
                 .toList();
 
-        ProductSnapshot[] products =
-                restClient.post(
-                        PRODUCT_SERVICE_BASE_URL,
-                        "/api/v1/products/batch",
-                        null,
-                        productIds,
-                        ProductSnapshot[].class
-                );
-
-        if (products == null || products.length != productIds.size()) {
-            throw new IllegalStateException("Some products are missing or unavailable");
-        }
+        InventoryReservation reservation = new InventoryReservation(
+                new InventoryBulkReduceRequest(
+                        order.getProducts().stream()
+                                .map(p -> new InventoryBulkReduceRequest.Item(
+                                        p.getProductId(),
+                                        p.getQuantity()
+                                ))
+                                .toList()
+                )
+        );
 
-        Map<UUID, ProductSnapshot> productMap =
-                Arrays.stream(products)
-                        .collect(Collectors.toMap(ProductSnapshot::getProductId, p -> p));
+        boolean speculative = inventoryProperties.isSpeculativeReservation();
+        Map<UUID, ProductSnapshot> products = speculative
+                ? fetchProductsWhileReserving(productIds, reservation)
+                : fetchProducts(productIds);
 
     /* =========================
        2️⃣ PRICE CALCULATION
        ========================= */
 
-        BigDecimal total = BigDecimal.ZERO;
-
-        for (OrderEntity.OrderProduct orderProduct : order.getProducts()) {
-
-            ProductSnapshot product =
-                    productMap.get(orderProduct.getProductId());
-
-            if (product == null) {
-                throw new IllegalStateException(
-                        "Product not found: " + orderProduct.getProductId()
-                );
-            }
-
-            if (!"ACTIVE".equals(product.getStatus())) {
-                throw new IllegalStateException(
-                        "Product not available: " + orderProduct.getProductId()
-                );
-            }
+        BigDecimal total;
+        try {
+            total = priceOrder(order, products);
+        } catch (RuntimeException ex) {
+            releaseInventory(reservation);
+            throw ex;
+        }
 
-            BigDecimal lineTotal =
-                    product.getPrice()
-                            .multiply(BigDecimal.valueOf(orderProduct.getQuantity()));
+    /* =========================
+       3️⃣ RESERVE INVENTORY (BULK)
+       ========================= */
 
-            orderProduct.setUnitPrice(product.getPrice());
-            total = total.add(lineTotal);
+        if (!speculative) {
+            reserveInventory(reservation);
         }
 
     /* =========================
-       3️⃣ FINALIZE & SAVE ORDER
+       4️⃣ PERSIST ORDER + OUTBOX EVENTS (SHORT TRANSACTION)
        ========================= */
 
         order.setTotal(total);
         order.setStatus(OrderEntity.Status.CONFIRMED);
         order.setPaymentStatus(OrderEntity.PaymentStatus.PENDING);
 
-        OrderEntity savedOrder = orderRepository.save(order);
-
-    /* =========================
-       4️⃣ REDUCE INVENTORY (BULK)
-       ========================= */
-
-        InventoryBulkReduceRequest inventoryRequest =
-                new InventoryBulkReduceRequest(
-                        order.getProducts().stream()
-                                .map(p -> new InventoryBulkReduceRequest.Item(
-                                        p.getProductId(),
-                                        p.getQuantity()
-                                ))
-                                .toList()
-                );
-
-        InventoryReduceResponse response =
-                restClient.post(
-                        PRODUCT_SERVICE_BASE_URL,
-                        "/api/v1/products/reduce",
-                        null,
-                        inventoryRequest,
-                        InventoryReduceResponse.class
-                );
-
-        if (response == null || !"SUCCESS".equals(response.getStatus())) {
-            throw new IllegalStateException("Inventory reduction failed for order " + savedOrder.getId());
+        OrderEntity savedOrder;
+        try {
+            savedOrder = transactionTemplate.execute(status -> persistOrder(order));
+        } catch (RuntimeException ex) {
+            releaseInventory(reservation);
+            throw ex;
         }
 
         log.info(
@@ -151,7 +182,44 @@ public class OrderService {
                 savedOrder.getId(),
                 total
         );
-        rabbitMQSender.sendOrderStatusEvent(
+
+        return savedOrder;
+    }
+
+    private Map<UUID, ProductSnapshot> fetchProductsWhileReserving(
+            List<UUID> productIds,
+            InventoryReservation reservation
+    ) {
+        try (FanOutScope scope = new FanOutScope("create-order", fanOutThreadFactory)) {
+            FanOutScope.Branch<Map<UUID, ProductSnapshot>> lookup = scope.fork(
+                    "product-lookup",
+                    fanOutProperties.getProductLookupTimeout(),
+                    () -> fetchProducts(productIds)
+            );
+            scope.fork(
+                    "inventory-reservation",
+                    fanOutProperties.getInventoryReservationTimeout(),
+                    () -> reserveInventory(reservation)
+            );
+
+            scope.join();
+            return lookup.get();
+        } catch (RuntimeException ex) {
+            // a cancelled reservation may already be on the wire; the scope is closed here
+            releaseInventory(reservation);
+            throw ex;
+        }
+    }
+
+    /**
+     * Events are recorded in the outbox, in the same transaction as the order, and
+     * relayed to RabbitMQ after commit; nothing remote happens while the connection is held.
+     */
+    private OrderEntity persistOrder(OrderEntity order) {
+        OrderEntity savedOrder = orderRepository.save(order);
+
+        orderEventOutbox.orderStatusEvent(
+                savedOrder.getId(),
                 "confirmed",
                 Map.of(
                         "orderId", savedOrder.getId(),
@@ -160,7 +228,8 @@ public class OrderService {
                         "timestamp", System.currentTimeMillis()
                 )
         );
-        rabbitMQSender.sendOrderAnalyticsEvent(
+        orderEventOutbox.orderAnalyticsEvent(
+                savedOrder.getId(),
                 Map.of(
                         "eventType", "ORDER_CREATED",
                         "orderId", savedOrder.getId(),
@@ -168,51 +237,164 @@ public class OrderService {
                 )
         );
 
+        eventPublisher.publishEvent(new OrderChangedEvent(savedOrder));
+
         return savedOrder;
     }
 
+    /* =========================
+       PRODUCT SERVICE CALLS
+       ========================= */
+
+    private Map<UUID, ProductSnapshot> fetchProducts(List<UUID> productIds) {
+        Map<UUID, ProductSnapshot> products = productSnapshotCache.getAll(productIds);
+
+        if (products.size() != productIds.size()) {
+            throw new IllegalStateException("Some products are missing or unavailable");
+        }
+        return products;
+    }
+
+    private InventoryReduceResponse reserveInventory(InventoryReservation reservation) {
+        reservation.sent = true;
+        InventoryReduceResponse response;
+        try {
+            response = restClient.exchange(
+                    HttpMethod.POST,
+                    PRODUCT_SERVICE_BASE_URL,
+                    "/api/v1/products/reduce",
+                    null,
+                    null,
+                    reservation.request,
+                    InventoryReduceResponse.class,
+                    Map.of(RESERVATION_KEY_HEADER, reservation.key)
+            );
+        } catch (BulkheadFullException ex) {
+            // rejected locally, the request never left this service
+            reservation.sent = false;
+            throw ex;
+        }
+
+        if (response == null || !"SUCCESS".equals(response.getStatus())) {
+            reservation.rejected = true;
+            throw new IllegalStateException("Inventory reduction failed");
+        }
+        return response;
+    }
+
+    /**
+     * Compensates a reservation whose order was never persisted: a failed persist
+     * transaction or, with a speculative reservation, a failed lookup or pricing step. Sent with the reservation's key, so it is
+     * safe even when the reduce was never applied (see {@link InventoryProperties#getReleasePath()}).
+     */
+    private void releaseInventory(InventoryReservation reservation) {
+        if (!reservation.mayHoldStock()) {
+            return;
+        }
+        try {
+            restClient.exchange(
+                    HttpMethod.POST,
+                    PRODUCT_SERVICE_BASE_URL,
+                    inventoryProperties.getReleasePath(),
+                    null,
+                    null,
+                    reservation.request,
+                    InventoryReduceResponse.class,
+                    Map.of(RESERVATION_KEY_HEADER, reservation.key)
+            );
+        } catch (Exception ex) {
+            log.error("Inventory release failed. key={}, items={}", reservation.key, reservation.request.getItems(), ex);
+        }
+    }
+
+    private BigDecimal priceOrder(OrderEntity order, Map<UUID, ProductSnapshot> productMap) {
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (OrderEntity.OrderProduct orderProduct : order.getProducts()) {
+
+            ProductSnapshot product =
+                    productMap.get(orderProduct.getProductId());
+
+            if (product == null) {
+                throw new IllegalStateException(
+                        "Product not found: " + orderProduct.getProductId()
+                );
+            }
+
+            if (!"ACTIVE".equals(product.getStatus())) {
+                throw new IllegalStateException(
+                        "Product not available: " + orderProduct.getProductId()
+                );
+            }
+
+            BigDecimal lineTotal =
+                    product.getPrice()
+                            .multiply(BigDecimal.valueOf(orderProduct.getQuantity()));
+
+            orderProduct.setUnitPrice(product.getPrice());
+            total = total.add(lineTotal);
+        }
+        return total;
+    }
+
     /* =========================
        PAYMENT STATUS UPDATE
        ========================= */
 
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderEntity updatePaymentStatus(
             UUID orderId,
             OrderEntity.PaymentStatus newPaymentStatus
     ) {
-        OrderEntity order = orderRepository.findById(orderId)
-                .orElseThrow(() ->
-                        new EntityNotFoundException("Order not found: " + orderId)
+        List<OrderEntity.PaymentStatus> allowedFrom =
+                Arrays.stream(OrderEntity.PaymentStatus.values())
+                        .filter(current -> isValidPaymentTransition(current, newPaymentStatus))
+                        .toList();
+
+        return withConflictRetry(PAYMENT_STATUS_FIELD, () -> {
+            boolean applied = !allowedFrom.isEmpty()
+                    && orderRepository.transitionPaymentStatus(orderId, allowedFrom, newPaymentStatus, Instant.now()) == 1;
+
+            OrderEntity order = orderRepository.findWithDetailsById(orderId)
+                    .orElseThrow(() ->
+                            new EntityNotFoundException("Order not found: " + orderId)
+                    );
+
+            if (!applied) {
+                if (allowedFrom.contains(order.getPaymentStatus())) {
+                    throw new TransitionConflictException(orderId);
+                }
+                rejectedTransitions.get(PAYMENT_STATUS_FIELD).increment();
+                throw new IllegalStateException(
+                        "Invalid payment status transition from "
+                                + order.getPaymentStatus() + " to " + newPaymentStatus
                 );
+            }
 
-        if (!isValidPaymentTransition(order.getPaymentStatus(), newPaymentStatus)) {
-            throw new IllegalStateException(
-                    "Invalid payment status transition from "
-                            + order.getPaymentStatus() + " to " + newPaymentStatus
+            orderEventOutbox.paymentStatusEvent(
+                    orderId,
+                    newPaymentStatus.name(),
+                    Map.of(
+                            "orderId", orderId,
+                            "paymentStatus", newPaymentStatus,
+                            "timestamp", System.currentTimeMillis()
+                    )
             );
-        }
-
-        order.setPaymentStatus(newPaymentStatus);
-        rabbitMQSender.sendPaymentStatusEvent(
-                newPaymentStatus.name(),
-                Map.of(
-                        "orderId", orderId,
-                        "paymentStatus", newPaymentStatus,
-                        "timestamp", System.currentTimeMillis()
-                )
-        );
-        rabbitMQSender.sendOrderAnalyticsEvent(
-                Map.of(
-                        "eventType", "PAYMENT_STATUS_UPDATED",
-                        "orderId", orderId,
-                        "paymentStatus", newPaymentStatus
-                )
-        );
+            orderEventOutbox.orderAnalyticsEvent(
+                    orderId,
+                    Map.of(
+                            "eventType", "PAYMENT_STATUS_UPDATED",
+                            "orderId", orderId,
+                            "paymentStatus", newPaymentStatus
+                    )
+            );
+            eventPublisher.publishEvent(new OrderChangedEvent(order));
 
-        return orderRepository.save(order);
+            return order;
+        });
     }
 
-    private boolean isValidPaymentTransition(
+    static boolean isValidPaymentTransition(
             OrderEntity.PaymentStatus current,
             OrderEntity.PaymentStatus next
     ) {
@@ -232,44 +414,66 @@ public class OrderService {
        ORDER STATUS UPDATE
        ========================= */
 
-    @Transactional
+    /**
+     * Single-statement conditional transition (UPDATE ... WHERE id = ? AND status IN
+     * (valid predecessors)); the order is loaded only afterwards, for the events and
+     * the response. Concurrent PATCHes therefore serialize on the row and the loser is
+     * re-validated against the winner's state instead of overwriting it.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderEntity updateOrderStatus(
             UUID orderId,
             OrderEntity.Status newStatus
     ) {
-        OrderEntity order = orderRepository.findById(orderId)
-                .orElseThrow(() ->
-                        new EntityNotFoundException("Order not found: " + orderId)
+        List<OrderEntity.Status> allowedFrom =
+                Arrays.stream(OrderEntity.Status.values())
+                        .filter(current -> isValidOrderTransition(current, newStatus))
+                        .toList();
+
+        return withConflictRetry(STATUS_FIELD, () -> {
+            boolean applied = !allowedFrom.isEmpty()
+                    && orderRepository.transitionStatus(orderId, allowedFrom, newStatus, Instant.now()) == 1;
+
+            OrderEntity order = orderRepository.findWithDetailsById(orderId)
+                    .orElseThrow(() ->
+                            new EntityNotFoundException("Order not found: " + orderId)
+                    );
+
+            if (!applied) {
+                if (allowedFrom.contains(order.getStatus())) {
+                    throw new TransitionConflictException(orderId);
+                }
+                rejectedTransitions.get(STATUS_FIELD).increment();
+                throw new IllegalStateException(
+                        "Invalid order status transition from "
+                                + order.getStatus() + " to " + newStatus
                 );
+            }
 
-        if (!isValidOrderTransition(order.getStatus(), newStatus)) {
-            throw new IllegalStateException(
-                    "Invalid order status transition from "
-                            + order.getStatus() + " to " + newStatus
+            orderEventOutbox.orderStatusEvent(
+                    orderId,
+                    newStatus.name(),
+                    Map.of(
+                            "orderId", orderId,
+                            "status", newStatus,
+                            "timestamp", System.currentTimeMillis()
+                    )
             );
-        }
-
-        order.setStatus(newStatus);
-        rabbitMQSender.sendOrderStatusEvent(
-                newStatus.name(),
-                Map.of(
-                        "orderId", orderId,
-                        "status", newStatus,
-                        "timestamp", System.currentTimeMillis()
-                )
-        );
-        rabbitMQSender.sendOrderAnalyticsEvent(
-                Map.of(
-                        "eventType", "ORDER_STATUS_UPDATED",
-                        "orderId", orderId,
-                        "status", newStatus
-                )
-        );
+            orderEventOutbox.orderAnalyticsEvent(
+                    orderId,
+                    Map.of(
+                            "eventType", "ORDER_STATUS_UPDATED",
+                            "orderId", orderId,
+                            "status", newStatus
+                    )
+            );
+            eventPublisher.publishEvent(new OrderChangedEvent(order));
 
-        return orderRepository.save(order);
+            return order;
+        });
     }
 
-    private boolean isValidOrderTransition(
+    static boolean isValidOrderTransition(
             OrderEntity.Status current,
             OrderEntity.Status next
     ) {
@@ -282,30 +486,90 @@ public class OrderService {
     }
 
     /* =========================
-       READ OPERATIONS
+       CONFLICT RETRY
        ========================= */
 
-    public OrderEntity getOrderById(UUID id) {
-        rabbitMQSender.sendOrderAnalyticsEvent(
-                Map.of(
-                        "eventType", "ORDER_FETCHED",
-                        "orderId", id
-                )
+    /**
+     * Runs the transition in its own transaction, retrying (bounded, with jittered
+     * backoff) when it loses a race: a lock/version conflict reported by the database,
+     * or a conditional update that matched nothing although the order is in a valid
+     * predecessor state.
+     */
+    private OrderEntity withConflictRetry(String field, Supplier<OrderEntity> transition) {
+        int maxAttempts = statusUpdateProperties.getMaxAttempts();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                OrderEntity order = transactionTemplate.execute(status -> transition.get());
+                appliedTransitions.get(field).increment();
+                return order;
+            } catch (TransitionConflictException | ConcurrencyFailureException ex) {
+                conflictedTransitions.get(field).increment();
+                if (attempt >= maxAttempts) {
+                    throw new IllegalStateException(
+                            "Order " + field + " update still conflicting after " + attempt + " attempts", ex
+                    );
+                }
+                log.debug("Order {} update conflict, retrying. attempt={}", field, attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long baseMillis = statusUpdateProperties.getRetryBackoff().toMillis() * attempt;
+        try {
+            Thread.sleep(baseMillis + ThreadLocalRandom.current().nextLong(baseMillis + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying order update", ex);
+        }
+    }
+
+    private Map<String, Counter> transitionCounters(MeterRegistry meterRegistry, String outcome) {
+        return Map.of(
+                STATUS_FIELD, transitionCounter(meterRegistry, STATUS_FIELD, outcome),
+                PAYMENT_STATUS_FIELD, transitionCounter(meterRegistry, PAYMENT_STATUS_FIELD, outcome)
         );
-        return orderRepository.findById(id)
-                .orElseThrow(() ->
-                        new EntityNotFoundException("Order not found: " + id)
-                );
     }
 
-    public List<OrderEntity> getOrdersByStatus(OrderEntity.Status status) {
-        return orderRepository.findByStatus(status);
+    private Counter transitionCounter(MeterRegistry meterRegistry, String field, String outcome) {
+        return Counter.builder("order.status.updates")
+                .tag("field", field)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
-    public List<OrderEntity> getOrdersByPaymentStatus(
-            OrderEntity.PaymentStatus paymentStatus
-    ) {
-        return orderRepository.findByPaymentStatus(paymentStatus);
+    /**
+     * What is known about the stock reduction of one createOrder call. Only a reduce that
+     * never left this service, or that the product service answered with a non-SUCCESS
+     * status, is known to hold no stock; success, a transport error, a missed deadline or
+     * a cancellation mid-flight may all have been applied.
+     */
+    private static final class InventoryReservation {
+
+        private final String key = UUID.randomUUID().toString();
+        private final InventoryBulkReduceRequest request;
+        private volatile boolean sent;
+        private volatile boolean rejected;
+
+        private InventoryReservation(InventoryBulkReduceRequest request) {
+            this.request = request;
+        }
+
+        private boolean mayHoldStock() {
+            return sent && !rejected;
+        }
+    }
+
+    /**
+     * Conditional update matched no row although the order is in a valid predecessor state.
+     */
+    private static class TransitionConflictException extends IllegalStateException {
+
+        TransitionConflictException(UUID orderId) {
+            super("Concurrent status update on order " + orderId);
+        }
     }
 
     /* =========================
@@ -0,0 +1,167 @@
+package com.example.order_service.services;
+
+import com.example.order_service.configuration.OutboxProperties;
+import com.example.order_service.entity.OutboxEventEntity;
+import com.example.order_service.repository.OutboxEventRepository;
+import com.example.order_service.utils.RabbitMQPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox table to RabbitMQ.
+ * <p>
+ * Rows are read in id order, one batch per run. Events of different orders are published
+ * concurrently, while events of the same order are chained: each waits for the
+ * broker confirm of its predecessor, and the chain stops at the first failure so
+ * a later event never overtakes an earlier one. Only confirmed rows are marked
+ * published; everything else is retried on the next run (at-least-once).
+ * <p>
+ * A run never loops: while a backlog lasts, the next batch follows after poll-interval,
+ * so the relay shares the scheduler with the other periodic tasks instead of holding a
+ * thread for as long as writes keep coming.
+ * <p>
+ * Assumes one relay per database (single instance or external leader election).
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitMQPublisher rabbitMQPublisher;
+    private final OutboxProperties properties;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter published;
+    private final Counter failed;
+    private final Timer batchTimer;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            RabbitMQPublisher rabbitMQPublisher,
+            OutboxProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitMQPublisher = rabbitMQPublisher;
+        this.properties = properties;
+
+        Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.published = Counter.builder("outbox.relay.events")
+                .tag("outcome", "published")
+                .register(meterRegistry);
+        this.failed = Counter.builder("outbox.relay.events")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .register(meterRegistry);
+    }
+
+    /* =========================
+       RELAY
+       ========================= */
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval:100ms}")
+    public void relay() {
+        List<OutboxEventEntity> batch =
+                outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(properties.getBatchSize()));
+
+        if (batch.isEmpty()) {
+            lagMillis.set(0);
+            return;
+        }
+        lagMillis.set(Duration.between(batch.getFirst().getCreatedAt(), Instant.now()).toMillis());
+
+        // unconfirmed rows stay unpublished and are retried by the next run
+        batchTimer.record(() -> relayBatch(batch));
+    }
+
+    private int relayBatch(List<OutboxEventEntity> batch) {
+        Map<UUID, List<OutboxEventEntity>> byOrder = new LinkedHashMap<>();
+        batch.forEach(event ->
+                byOrder.computeIfAbsent(event.getAggregateId(), id -> new ArrayList<>()).add(event)
+        );
+
+        ConcurrentLinkedQueue<Long> confirmedIds = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> chains = new ArrayList<>(byOrder.size());
+
+        for (List<OutboxEventEntity> events : byOrder.values()) {
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+            for (OutboxEventEntity event : events) {
+                chain = chain
+                        .thenCompose(ignored -> rabbitMQPublisher.publishJson(
+                                event.getExchange(),
+                                event.getRoutingKey(),
+                                event.getPayload()
+                        ))
+                        .thenRun(() -> confirmedIds.add(event.getId()));
+            }
+            chains.add(chain);
+        }
+
+        awaitChains(chains);
+
+        List<Long> ids = List.copyOf(confirmedIds);
+        if (!ids.isEmpty()) {
+            outboxEventRepository.markPublished(ids, Instant.now());
+        }
+
+        published.increment(ids.size());
+        failed.increment(batch.size() - ids.size());
+
+        if (ids.size() < batch.size()) {
+            log.warn("Outbox relay partially failed. batch={}, confirmed={}", batch.size(), ids.size());
+        }
+        return ids.size();
+    }
+
+    private void awaitChains(List<CompletableFuture<Void>> chains) {
+        try {
+            CompletableFuture
+                    .allOf(chains.stream()
+                            .map(chain -> chain.exceptionally(ex -> null))
+                            .toArray(CompletableFuture[]::new))
+                    .get(properties.getConfirmTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            log.warn("Outbox relay timed out waiting for broker confirms after {}", properties.getConfirmTimeout());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            // individual failures are already reflected by missing confirmed ids
+        }
+    }
+
+    /* =========================
+       CLEANUP
+       ========================= */
+
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1M")
+    public void deletePublished() {
+        int deleted = outboxEventRepository.deletePublishedBefore(Instant.now().minus(properties.getRetention()));
+        if (deleted > 0) {
+            log.info("Outbox cleanup removed {} published events", deleted);
+        }
+    }
+}
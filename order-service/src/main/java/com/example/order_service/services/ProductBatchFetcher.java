@@ -0,0 +1,87 @@
+package com.example.order_service.services;
+
+import com.example.order_service.configuration.ProductBatchProperties;
+import com.example.order_service.models.ProductSnapshot;
+import com.example.order_service.utils.MicroBatcher;
+import com.example.order_service.utils.RestClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fetches {@link ProductSnapshot}s from product-service's batch endpoint.
+ * <p>
+ * With batching enabled, ids requested by concurrent orders within a short window
+ * are merged into one POST /api/v1/products/batch and the response is split back
+ * per caller.
+ */
+@Component
+@Slf4j
+public class ProductBatchFetcher implements DisposableBean {
+
+    private final RestClient restClient;
+    private final ProductBatchProperties properties;
+    private final AsyncTaskExecutor executor;
+    private final MicroBatcher<UUID, ProductSnapshot> batcher;
+
+    public ProductBatchFetcher(
+            RestClient restClient,
+            ProductBatchProperties properties,
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+            MeterRegistry meterRegistry
+    ) {
+        this.restClient = restClient;
+        this.properties = properties;
+        this.executor = executor;
+        this.batcher = new MicroBatcher<>(
+                "product-snapshots",
+                properties.getMaxBatchSize(),
+                properties.getWindow(),
+                this::fetchNow,
+                executor,
+                meterRegistry
+        );
+    }
+
+    public CompletableFuture<Map<UUID, ProductSnapshot>> fetch(Collection<? extends UUID> productIds) {
+        if (!properties.isEnabled()) {
+            List<UUID> ids = List.copyOf(productIds);
+            return CompletableFuture.supplyAsync(() -> fetchNow(ids), executor);
+        }
+        return batcher.submit(productIds);
+    }
+
+    @Override
+    public void destroy() {
+        batcher.close();
+    }
+
+    private Map<UUID, ProductSnapshot> fetchNow(Collection<UUID> productIds) {
+        ProductSnapshot[] products =
+                restClient.post(
+                        OrderService.PRODUCT_SERVICE_BASE_URL,
+                        "/api/v1/products/batch",
+                        null,
+                        productIds,
+                        ProductSnapshot[].class
+                );
+
+        if (products == null) {
+            return Map.of();
+        }
+        return Arrays.stream(products)
+                .collect(Collectors.toMap(ProductSnapshot::getProductId, Function.identity()));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.order_service.services;
+
+import com.example.order_service.configuration.ProductCacheProperties;
+import com.example.order_service.models.ProductSnapshot;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineStatsCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Near cache of product-service {@link ProductSnapshot}s keyed by product id.
+ * <p>
+ * - size-bounded (W-TinyLFU) eviction + TTL after load
+ * - single-flight: concurrent misses for the same id share one in-flight load,
+ *   and all misses of one lookup are fetched together (see ProductBatchFetcher)
+ * - invalidated by product update events (see ProductEventsListener)
+ */
+@Component
+@Slf4j
+public class ProductSnapshotCache {
+
+    static final String CACHE_NAME = "product-snapshots";
+
+    private final ProductBatchFetcher productBatchFetcher;
+    private final ProductCacheProperties properties;
+    private final AsyncLoadingCache<UUID, ProductSnapshot> cache;
+    private final Counter invalidations;
+
+    public ProductSnapshotCache(
+            ProductBatchFetcher productBatchFetcher,
+            ProductCacheProperties properties,
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor loaderExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.productBatchFetcher = productBatchFetcher;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .executor(loaderExecutor)
+                .recordStats(() -> new CaffeineStatsCounter(meterRegistry, CACHE_NAME))
+                .buildAsync(new ProductBatchLoader());
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /* =========================
+       READ
+       ========================= */
+
+    /**
+     * Returns the snapshots that exist; unknown ids are simply absent from the map.
+     */
+    public Map<UUID, ProductSnapshot> getAll(List<UUID> productIds) {
+        CompletableFuture<Map<UUID, ProductSnapshot>> products =
+                properties.isEnabled()
+                        ? cache.getAll(productIds)
+                        : productBatchFetcher.fetch(productIds);
+
+        try {
+            return products.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading product snapshots", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Product snapshot lookup failed", ex.getCause());
+        }
+    }
+
+    /* =========================
+       INVALIDATION
+       ========================= */
+
+    public void invalidate(UUID productId) {
+        cache.synchronous().invalidate(productId);
+        invalidations.increment();
+        log.debug("Product snapshot invalidated. productId={}", productId);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+        invalidations.increment();
+    }
+
+    /* =========================
+       LOADING
+       ========================= */
+
+    private final class ProductBatchLoader implements AsyncCacheLoader<UUID, ProductSnapshot> {
+
+        @Override
+        public CompletableFuture<ProductSnapshot> asyncLoad(UUID productId, Executor executor) {
+            return productBatchFetcher.fetch(Set.of(productId))
+                    .thenApply(products -> products.get(productId));
+        }
+
+        @Override
+        public CompletableFuture<Map<UUID, ProductSnapshot>> asyncLoadAll(
+                Set<? extends UUID> productIds,
+                Executor executor
+        ) {
+            return productBatchFetcher.fetch(productIds);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.order_service.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Semaphore bulkhead guarding a single downstream.
+ * <p>
+ * Virtual threads remove the thread-pool ceiling, so this is what bounds
+ * concurrent calls to a downstream:
+ * - up to maxConcurrentCalls run at once
+ * - up to maxQueuedCalls wait (at most maxWait) for a permit
+ * - everything else is rejected immediately
+ * <p>
+ * With a {@link VegasConcurrencyLimit} attached, the permit count follows the
+ * limit learned from observed RTTs and errors instead of staying fixed.
+ */
+public class Bulkhead {
+
+    private final String downstream;
+    private final int fixedLimit;
+    private final int maxQueuedCalls;
+    private final Duration maxWait;
+    private final VegasConcurrencyLimit adaptiveLimit;
+
+    private final AdjustableSemaphore permits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public Bulkhead(
+            String downstream,
+            int maxConcurrentCalls,
+            int maxQueuedCalls,
+            Duration maxWait,
+            MeterRegistry meterRegistry
+    ) {
+        this(downstream, maxConcurrentCalls, maxQueuedCalls, maxWait, null, meterRegistry);
+    }
+
+    public Bulkhead(
+            String downstream,
+            int maxConcurrentCalls,
+            int maxQueuedCalls,
+            Duration maxWait,
+            VegasConcurrencyLimit adaptiveLimit,
+            MeterRegistry meterRegistry
+    ) {
+        this.downstream = downstream;
+        this.fixedLimit = maxConcurrentCalls;
+        this.maxQueuedCalls = maxQueuedCalls;
+        this.maxWait = maxWait;
+        this.adaptiveLimit = adaptiveLimit;
+        this.permits = new AdjustableSemaphore(
+                adaptiveLimit != null ? adaptiveLimit.getLimit() : maxConcurrentCalls
+        );
+
+        Gauge.builder("http.client.bulkhead.in.flight", inFlight, AtomicInteger::get)
+                .tag("downstream", downstream)
+                .register(meterRegistry);
+        Gauge.builder("http.client.bulkhead.queued", queued, AtomicInteger::get)
+                .tag("downstream", downstream)
+                .register(meterRegistry);
+        Gauge.builder("http.client.bulkhead.limit", this, Bulkhead::getLimit)
+                .tag("downstream", downstream)
+                .register(meterRegistry);
+
+        this.rejectedQueueFull = Counter.builder("http.client.bulkhead.rejected")
+                .tag("downstream", downstream)
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.rejectedTimeout = Counter.builder("http.client.bulkhead.rejected")
+                .tag("downstream", downstream)
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+    }
+
+    /* =========================================================
+       EXECUTE
+       ========================================================= */
+
+    public <T> T execute(Supplier<T> call) {
+        acquire();
+        int concurrent = inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            return call.get();
+        } catch (RuntimeException ex) {
+            dropped = isOverload(ex);
+            throw ex;
+        } finally {
+            inFlight.decrementAndGet();
+            permits.release();
+            if (adaptiveLimit != null) {
+                permits.adjust(adaptiveLimit.onSample(System.nanoTime() - start, concurrent, dropped));
+            }
+        }
+    }
+
+    public int getLimit() {
+        return adaptiveLimit != null ? adaptiveLimit.getLimit() : fixedLimit;
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    private void acquire() {
+        // fast path: free permit, no queueing
+        if (permits.tryAcquire()) {
+            return;
+        }
+
+        if (queued.incrementAndGet() > maxQueuedCalls) {
+            queued.decrementAndGet();
+            rejectedQueueFull.increment();
+            throw new BulkheadFullException(
+                    "Bulkhead full for " + downstream
+                            + " (limit=" + getLimit()
+                            + ", maxQueuedCalls=" + maxQueuedCalls + ")"
+            );
+        }
+
+        try {
+            if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejectedTimeout.increment();
+                throw new BulkheadFullException(
+                        "No permit for " + downstream + " within " + maxWait
+                );
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for bulkhead " + downstream, ex);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * Only capacity signals shrink the limit; ordinary 4xx responses do not.
+     */
+    private static boolean isOverload(RuntimeException ex) {
+        return ex instanceof ResourceAccessException
+                || ex instanceof HttpServerErrorException
+                || ex instanceof HttpClientErrorException.TooManyRequests;
+    }
+
+    /**
+     * Semaphore whose permit count can grow and shrink with the adaptive limit.
+     */
+    private static final class AdjustableSemaphore extends Semaphore {
+
+        private AdjustableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        private void adjust(int delta) {
+            if (delta > 0) {
+                release(delta);
+            } else if (delta < 0) {
+                reducePermits(-delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.order_service.utils;
+
+/**
+ * Raised when a downstream bulkhead has no permit available within its wait budget.
+ */
+public class BulkheadFullException extends IllegalStateException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
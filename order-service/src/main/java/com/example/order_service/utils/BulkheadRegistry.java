@@ -0,0 +1,75 @@
+package com.example.order_service.utils;
+
+import com.example.order_service.configuration.BulkheadProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * One {@link Bulkhead} per downstream (host:port of the base URL), created lazily.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BulkheadRegistry {
+
+    private final BulkheadProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public <T> T execute(String baseUrl, Supplier<T> call) {
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+        return bulkheads
+                .computeIfAbsent(downstreamKey(baseUrl), this::create)
+                .execute(call);
+    }
+
+    private Bulkhead create(String downstream) {
+        BulkheadProperties.Limits limits = properties.limitsFor(downstream);
+
+        BulkheadProperties.Adaptive adaptive = properties.getAdaptive();
+
+        log.info(
+                "Bulkhead created. downstream={}, maxConcurrentCalls={}, maxQueuedCalls={}, maxWait={}, adaptive={}",
+                downstream,
+                limits.getMaxConcurrentCalls(),
+                limits.getMaxQueuedCalls(),
+                limits.getMaxWait(),
+                adaptive.isEnabled()
+        );
+
+        VegasConcurrencyLimit adaptiveLimit =
+                adaptive.isEnabled()
+                        ? new VegasConcurrencyLimit(
+                                limits.getMaxConcurrentCalls(),
+                                adaptive.getMinLimit(),
+                                adaptive.getMaxLimit(),
+                                adaptive.getBackoffRatio(),
+                                adaptive.getProbeInterval()
+                        )
+                        : null;
+
+        return new Bulkhead(
+                downstream,
+                limits.getMaxConcurrentCalls(),
+                limits.getMaxQueuedCalls(),
+                limits.getMaxWait(),
+                adaptiveLimit,
+                meterRegistry
+        );
+    }
+
+    static String downstreamKey(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        return uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.order_service.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fair semaphore in front of the JDBC connection pool.
+ * <p>
+ * Virtual threads let every request reach the JPA layer at once, so the pool
+ * is the real bottleneck. This makes it an explicit one:
+ * - up to maxConcurrent connections are checked out (sized to the pool)
+ * - up to maxQueued callers wait, first come first served, at most maxWait
+ * - everything else is rejected immediately with {@link DatabaseBusyException}
+ */
+public class ConnectionAdmissionControl {
+
+    private final String pool;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Timer admittedWait;
+    private final Timer rejectedWait;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public ConnectionAdmissionControl(
+            String pool,
+            int maxConcurrent,
+            int maxQueued,
+            Duration maxWait,
+            Duration retryAfter,
+            MeterRegistry meterRegistry
+    ) {
+        this.pool = pool;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxWait = maxWait;
+        this.retryAfter = retryAfter;
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        Gauge.builder("db.admission.in.use", this, ConnectionAdmissionControl::getInUse)
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Gauge.builder("db.admission.queued", queued, AtomicInteger::get)
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Gauge.builder("db.admission.limit", this, ConnectionAdmissionControl::getMaxConcurrent)
+                .tag("pool", pool)
+                .register(meterRegistry);
+
+        this.admittedWait = waitTimer(meterRegistry, pool, "admitted");
+        this.rejectedWait = waitTimer(meterRegistry, pool, "rejected");
+        this.rejectedQueueFull = rejectedCounter(meterRegistry, pool, "queue_full");
+        this.rejectedTimeout = rejectedCounter(meterRegistry, pool, "timeout");
+    }
+
+    /* =========================================================
+       ACQUIRE / RELEASE
+       ========================================================= */
+
+    public void acquire() {
+        long start = System.nanoTime();
+
+        // fast path: free connection, no queueing
+        if (permits.tryAcquire()) {
+            admittedWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return;
+        }
+
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejectedQueueFull.increment();
+            rejectedWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new DatabaseBusyException(
+                    "Database pool " + pool + " saturated (maxConcurrent=" + maxConcurrent
+                            + ", maxQueued=" + maxQueued + ")",
+                    retryAfter
+            );
+        }
+
+        try {
+            if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejectedTimeout.increment();
+                rejectedWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw new DatabaseBusyException(
+                        "No connection from " + pool + " within " + maxWait, retryAfter
+                );
+            }
+            admittedWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for database pool " + pool, ex);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getInUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, String pool, String outcome) {
+        return Timer.builder("db.admission.wait")
+                .description("Time spent waiting for a database connection permit")
+                .tag("pool", pool)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String pool, String reason) {
+        return Counter.builder("db.admission.rejected")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.order_service.utils;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * Raised when no database connection can be admitted within the wait budget.
+ * <p>
+ * Resolved to 503 with a Retry-After header, also when it arrives wrapped
+ * (e.g. in a CannotCreateTransactionException).
+ */
+public class DatabaseBusyException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public DatabaseBusyException(String message, Duration retryAfter) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message);
+        this.retryAfterSeconds = Math.max(1, retryAfter.plusMillis(999).toSeconds());
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return headers;
+    }
+}
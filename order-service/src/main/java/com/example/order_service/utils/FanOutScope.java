@@ -0,0 +1,167 @@
+package com.example.order_service.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Structured fan-out of independent blocking steps (shutdown-on-failure semantics).
+ * <p>
+ * - every branch runs on its own thread from the supplied factory
+ * - every branch has its own deadline
+ * - the first failure (or missed deadline) cancels all sibling branches
+ * - no branch outlives the scope: {@link #close()} cancels and waits for stragglers
+ * <p>
+ * Mirrors {@code StructuredTaskScope.ShutdownOnFailure}, which is still a preview API on Java 21.
+ */
+@Slf4j
+public final class FanOutScope implements AutoCloseable {
+
+    private final String name;
+    private final ExecutorService executor;
+    private final List<Branch<?>> branches = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+
+    public FanOutScope(String name, ThreadFactory threadFactory) {
+        this.name = name;
+        this.executor = Executors.newThreadPerTaskExecutor(threadFactory);
+    }
+
+    /* =========================================================
+       FORK
+       ========================================================= */
+
+    public <T> Branch<T> fork(String branchName, Duration timeout, Callable<T> task) {
+        Branch<T> branch = new Branch<>(branchName, System.nanoTime() + timeout.toNanos(), timeout);
+        branches.add(branch);
+        branch.future = executor.submit(() -> {
+            try {
+                return task.call();
+            } catch (Throwable ex) {
+                fail(ex);
+                throw ex;
+            }
+        });
+
+        // a sibling may have failed before this future was visible to cancelAll()
+        if (firstFailure.get() != null) {
+            branch.future.cancel(true);
+        }
+        return branch;
+    }
+
+    /* =========================================================
+       JOIN
+       ========================================================= */
+
+    /**
+     * Waits for every branch; rethrows the first failure after cancelling the siblings.
+     */
+    public void join() {
+        for (Branch<?> branch : branches) {
+            long remaining = branch.deadlineNanos - System.nanoTime();
+            try {
+                branch.future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                fail(new IllegalStateException(
+                        "Branch '" + branch.name + "' of " + name
+                                + " exceeded its deadline of " + branch.timeout, ex));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                fail(ex);
+            } catch (ExecutionException | CancellationException ex) {
+                // failure already recorded by the branch itself / a sibling
+            }
+
+            if (firstFailure.get() != null) {
+                break;
+            }
+        }
+
+        Throwable failure = firstFailure.get();
+        if (failure == null) {
+            return;
+        }
+        if (failure instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException(name + " failed", failure);
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    private void fail(Throwable ex) {
+        if (firstFailure.compareAndSet(null, ex)) {
+            log.debug("Fan-out {} failed, cancelling sibling branches", name, ex);
+            cancelAll();
+        }
+    }
+
+    private void cancelAll() {
+        for (Branch<?> branch : branches) {
+            if (branch.future != null) {
+                branch.future.cancel(true);
+            }
+        }
+    }
+
+    /* =========================================================
+       BRANCH HANDLE
+       ========================================================= */
+
+    public static final class Branch<T> {
+
+        private final String name;
+        private final long deadlineNanos;
+        private final Duration timeout;
+        private volatile Future<T> future;
+
+        private Branch(String name, long deadlineNanos, Duration timeout) {
+            this.name = name;
+            this.deadlineNanos = deadlineNanos;
+            this.timeout = timeout;
+        }
+
+        /**
+         * Result of a branch; only valid after a successful {@link FanOutScope#join()}.
+         */
+        public T get() {
+            if (future.state() != Future.State.SUCCESS) {
+                throw new IllegalStateException("Branch '" + name + "' has not completed successfully");
+            }
+            return future.resultNow();
+        }
+
+        public boolean isSuccess() {
+            return future.state() == Future.State.SUCCESS;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.order_service.utils;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Raised when a duplicate request gives up waiting for the original with the same key.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyKeyInFlightException extends IllegalStateException {
+
+    public IdempotencyKeyInFlightException(String message) {
+        super(message);
+    }
+}
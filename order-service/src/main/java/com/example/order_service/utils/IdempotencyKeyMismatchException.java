@@ -0,0 +1,15 @@
+package com.example.order_service.utils;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Raised when an idempotency key is reused with a different request payload.
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_CONTENT)
+public class IdempotencyKeyMismatchException extends IllegalStateException {
+
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.order_service.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Coalesces keys requested by concurrent callers into one batch call.
+ * <p>
+ * A batch is sent when it reaches maxBatchSize or when the window opened by its
+ * first key elapses, whichever comes first. Duplicate keys inside a window share
+ * one future. Results are demultiplexed back to every waiting caller; keys the
+ * batch call does not return complete with {@code null}.
+ */
+@Slf4j
+public class MicroBatcher<K, V> implements AutoCloseable {
+
+    private final String name;
+    private final int maxBatchSize;
+    private final Duration window;
+    private final Function<Collection<K>, Map<K, V>> batchCall;
+    private final Executor executor;
+    private final ScheduledExecutorService timer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> windowFlush;
+
+    private final DistributionSummary batchSize;
+    private final DistributionSummary fillRatio;
+    private final Counter flushedOnSize;
+    private final Counter flushedOnWindow;
+
+    public MicroBatcher(
+            String name,
+            int maxBatchSize,
+            Duration window,
+            Function<Collection<K>, Map<K, V>> batchCall,
+            Executor executor,
+            MeterRegistry meterRegistry
+    ) {
+        this.name = name;
+        this.maxBatchSize = maxBatchSize;
+        this.window = window;
+        this.batchCall = batchCall;
+        this.executor = executor;
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name(name + "-batch-timer").daemon(true).factory()
+        );
+
+        this.batchSize = DistributionSummary.builder("micro.batch.size")
+                .tag("batcher", name)
+                .register(meterRegistry);
+        this.fillRatio = DistributionSummary.builder("micro.batch.fill.ratio")
+                .tag("batcher", name)
+                .register(meterRegistry);
+        this.flushedOnSize = Counter.builder("micro.batch.flushes")
+                .tag("batcher", name)
+                .tag("trigger", "size")
+                .register(meterRegistry);
+        this.flushedOnWindow = Counter.builder("micro.batch.flushes")
+                .tag("batcher", name)
+                .tag("trigger", "window")
+                .register(meterRegistry);
+    }
+
+    /* =========================================================
+       SUBMIT
+       ========================================================= */
+
+    /**
+     * @return the values found for {@code keys}; missing keys are absent from the map
+     */
+    public CompletableFuture<Map<K, V>> submit(Collection<? extends K> keys) {
+        Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+
+        lock.lock();
+        try {
+            for (K key : keys) {
+                futures.put(key, pending.computeIfAbsent(key, k -> new CompletableFuture<>()));
+
+                if (pending.size() >= maxBatchSize) {
+                    flushedOnSize.increment();
+                    dispatch(takePending());
+                }
+            }
+
+            if (!pending.isEmpty() && windowFlush == null) {
+                windowFlush = timer.schedule(this::flushWindow, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return CompletableFuture
+                .allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<K, V> results = new HashMap<>();
+                    futures.forEach((key, future) -> {
+                        V value = future.join();
+                        if (value != null) {
+                            results.put(key, value);
+                        }
+                    });
+                    return results;
+                });
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        lock.lock();
+        try {
+            if (!pending.isEmpty()) {
+                dispatch(takePending());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    private void flushWindow() {
+        lock.lock();
+        try {
+            windowFlush = null;
+            if (!pending.isEmpty()) {
+                flushedOnWindow.increment();
+                dispatch(takePending());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Must hold the lock.
+     */
+    private Map<K, CompletableFuture<V>> takePending() {
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (windowFlush != null) {
+            windowFlush.cancel(false);
+            windowFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        batchSize.record(batch.size());
+        fillRatio.record((double) batch.size() / maxBatchSize);
+
+        executor.execute(() -> {
+            try {
+                Map<K, V> results = batchCall.apply(batch.keySet());
+                batch.forEach((key, future) -> future.complete(results.get(key)));
+            } catch (Throwable ex) {
+                log.debug("Micro-batch {} failed. size={}", name, batch.size(), ex);
+                batch.values().forEach(future -> future.completeExceptionally(ex));
+            }
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.order_service.utils;
+
+import com.example.order_service.models.OrderRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position (created_at, id) of the last order on a page.
+ */
+public record OrderCursor(Instant createdAt, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static OrderCursor after(OrderRow order) {
+        return new OrderCursor(order.createdAt(), order.id());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new OrderCursor(
+                    Instant.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid order cursor: " + cursor, ex);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.order_service.utils;
+
+import com.example.order_service.services.ProductSnapshotCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductEventsListener {
+
+    private final ProductSnapshotCache productSnapshotCache;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Consumes product-service events (JSON with "productId" or "id").
+     * Events without a usable id drop the whole cache rather than risk stale prices.
+     */
+    @RabbitListener(queues = "#{productCacheInvalidationQueue.name}")
+    public void onProductEvent(
+            String payload,
+            @Header(AmqpHeaders.RECEIVED_ROUTING_KEY) String routingKey
+    ) {
+        UUID productId = extractProductId(payload);
+
+        if (productId == null) {
+            log.warn("Product event without product id, invalidating cache. routingKey={}", routingKey);
+            productSnapshotCache.invalidateAll();
+            return;
+        }
+
+        productSnapshotCache.invalidate(productId);
+    }
+
+    private UUID extractProductId(String payload) {
+        try {
+            JsonNode node = objectMapper.readTree(payload);
+            JsonNode id = node.hasNonNull("productId") ? node.get("productId") : node.get("id");
+            return id != null && !id.isNull() ? UUID.fromString(id.asString()) : null;
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.order_service.utils;
+
+import com.example.order_service.configuration.RabbitPublisherProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous, batched, confirmed RabbitMQ publishing pipeline.
+ * <p>
+ * - callers only enqueue (bounded buffer, blocking at most enqueueTimeout → backpressure)
+ * - a single publisher thread drains the buffer in batches, serializes and publishes
+ *   each batch on one channel (preserving enqueue order)
+ * - every message carries CorrelationData; confirms are handled asynchronously
+ *   (requires spring.rabbitmq.publisher-confirm-type=correlated)
+ * - nacks are retried with backoff up to maxRetries
+ * - at most maxOutstandingConfirms messages are unconfirmed at any time, so a slow
+ *   broker stalls the publisher, which fills the buffer, which slows the callers
+ */
+@Component
+@Slf4j
+public class RabbitMQPublisher implements SmartLifecycle {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final RabbitPublisherProperties properties;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final BlockingQueue<OutboundMessage> buffer;
+    private final Semaphore outstandingConfirms;
+    private final ScheduledExecutorService retryScheduler;
+
+    private final Counter published;
+    private final Counter acked;
+    private final Counter nacked;
+    private final Counter retried;
+    private final Counter dropped;
+    private final Counter rejected;
+
+    private final boolean confirmsEnabled;
+
+    private volatile boolean running;
+    private Thread publisherThread;
+
+    public RabbitMQPublisher(
+            RabbitTemplate rabbitTemplate,
+            RabbitPublisherProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        // a batch takes one confirm permit per message up front; a larger batch would never get them
+        if (properties.getBatchSize() > properties.getMaxOutstandingConfirms()) {
+            throw new IllegalArgumentException(
+                    "rabbit-publisher.batch-size (" + properties.getBatchSize()
+                            + ") must not exceed rabbit-publisher.max-outstanding-confirms ("
+                            + properties.getMaxOutstandingConfirms() + ")"
+            );
+        }
+        this.rabbitTemplate = rabbitTemplate;
+        this.properties = properties;
+        this.confirmsEnabled = rabbitTemplate.getConnectionFactory().isPublisherConfirms();
+        this.buffer = new ArrayBlockingQueue<>(properties.getBufferCapacity());
+        this.outstandingConfirms = new Semaphore(properties.getMaxOutstandingConfirms());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("rabbit-publisher-retry").daemon(true).factory()
+        );
+
+        Gauge.builder("rabbit.publisher.buffered", buffer, BlockingQueue::size)
+                .register(meterRegistry);
+        Gauge.builder("rabbit.publisher.unconfirmed", outstandingConfirms,
+                        permits -> properties.getMaxOutstandingConfirms() - permits.availablePermits())
+                .register(meterRegistry);
+
+        this.published = counter(meterRegistry, "published");
+        this.acked = counter(meterRegistry, "acked");
+        this.nacked = counter(meterRegistry, "nacked");
+        this.retried = counter(meterRegistry, "retried");
+        this.dropped = counter(meterRegistry, "dropped");
+        this.rejected = counter(meterRegistry, "rejected");
+    }
+
+    /* =========================================================
+       ENQUEUE (CALLER THREAD)
+       ========================================================= */
+
+    /**
+     * @return completes when the broker confirms the message, or exceptionally once
+     * it is dropped (retries exhausted / not serializable)
+     */
+    public CompletableFuture<Void> publish(String exchange, String routingKey, Object payload) {
+        return enqueue(new OutboundMessage(exchange, routingKey, payload, null, 0, new CompletableFuture<>()));
+    }
+
+    /**
+     * Same as {@link #publish} for payloads that are already JSON (e.g. outbox rows).
+     */
+    public CompletableFuture<Void> publishJson(String exchange, String routingKey, String json) {
+        return enqueue(new OutboundMessage(exchange, routingKey, null, json, 0, new CompletableFuture<>()));
+    }
+
+    private CompletableFuture<Void> enqueue(OutboundMessage message) {
+        String exchange = message.exchange();
+        String routingKey = message.routingKey();
+        try {
+            if (!buffer.offer(message, properties.getEnqueueTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new IllegalStateException(
+                        "RabbitMQ publish buffer full, exchange=" + exchange + ", routingKey=" + routingKey
+                );
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while enqueueing RabbitMQ message", ex);
+        }
+        return message.confirmed();
+    }
+
+    /* =========================================================
+       PUBLISHER LOOP
+       ========================================================= */
+
+    private void runPublisher() {
+        List<OutboundMessage> batch = new ArrayList<>(properties.getBatchSize());
+
+        while (running || !buffer.isEmpty()) {
+            try {
+                OutboundMessage first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, properties.getBatchSize() - 1);
+
+                publishBatch(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void publishBatch(List<OutboundMessage> batch) throws InterruptedException {
+        // wait for broker confirms to free up room before sending more
+        outstandingConfirms.acquire(batch.size());
+
+        int[] handled = {0};
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (OutboundMessage message : batch) {
+                    String json;
+                    try {
+                        json = message.json() != null
+                                ? message.json()
+                                : objectMapper.writeValueAsString(message.payload());
+                    } catch (Exception ex) {
+                        log.error("❌ Failed to serialize message → exchange={}, routingKey={}",
+                                message.exchange(), message.routingKey(), ex);
+                        dropped.increment();
+                        outstandingConfirms.release();
+                        message.confirmed().completeExceptionally(ex);
+                        handled[0]++;
+                        continue;
+                    }
+
+                    CorrelationData correlation = new CorrelationData();
+                    operations.convertAndSend(message.exchange(), message.routingKey(), json, correlation);
+                    handled[0]++;
+                    published.increment();
+
+                    if (confirmsEnabled) {
+                        correlation.getFuture().whenComplete(
+                                (confirm, ex) -> onConfirm(message, confirm, ex)
+                        );
+                    } else {
+                        outstandingConfirms.release();
+                        message.confirmed().complete(null);
+                    }
+
+                    log.debug(
+                            "📨 Message published → exchange={}, routingKey={}, correlationId={}",
+                            message.exchange(),
+                            message.routingKey(),
+                            correlation.getId()
+                    );
+                }
+                return null;
+            });
+        } catch (Exception ex) {
+            List<OutboundMessage> unsent = batch.subList(handled[0], batch.size());
+            log.error("❌ RabbitMQ batch publish failed. unsent={}", unsent.size(), ex);
+
+            // unsent messages will never be confirmed
+            outstandingConfirms.release(unsent.size());
+            unsent.forEach(message -> retryOrDrop(message, ex.getMessage()));
+        }
+    }
+
+    private void onConfirm(OutboundMessage message, CorrelationData.Confirm confirm, Throwable ex) {
+        outstandingConfirms.release();
+
+        if (ex == null && confirm != null && confirm.ack()) {
+            acked.increment();
+            message.confirmed().complete(null);
+            return;
+        }
+
+        nacked.increment();
+        retryOrDrop(message, ex != null ? ex.getMessage() : confirm != null ? confirm.reason() : "unknown");
+    }
+
+    private void retryOrDrop(OutboundMessage message, String reason) {
+        if (message.attempt() >= properties.getMaxRetries()) {
+            dropped.increment();
+            log.error(
+                    "❌ Message dropped after {} attempts → exchange={}, routingKey={}, reason={}",
+                    message.attempt() + 1,
+                    message.exchange(),
+                    message.routingKey(),
+                    reason
+            );
+            message.confirmed().completeExceptionally(
+                    new IllegalStateException("RabbitMQ message dropped: " + reason)
+            );
+            return;
+        }
+
+        retried.increment();
+        OutboundMessage retry = message.nextAttempt();
+        long backoffMillis = properties.getRetryBackoff().toMillis() * (1L << message.attempt());
+        retryScheduler.schedule(() -> {
+            if (!buffer.offer(retry)) {
+                dropped.increment();
+                log.error("❌ Retry dropped, buffer full → exchange={}, routingKey={}",
+                        retry.exchange(), retry.routingKey());
+                retry.confirmed().completeExceptionally(
+                        new IllegalStateException("RabbitMQ publish buffer full on retry")
+                );
+            }
+        }, backoffMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /* =========================================================
+       LIFECYCLE
+       ========================================================= */
+
+    @Override
+    public void start() {
+        running = true;
+        publisherThread = Thread.ofPlatform()
+                .name("rabbit-publisher")
+                .daemon(true)
+                .start(this::runPublisher);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            publisherThread.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        publisherThread.interrupt();
+        retryScheduler.shutdownNow();
+
+        if (!buffer.isEmpty()) {
+            log.warn("RabbitMQ publisher stopped with {} unpublished messages", buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop after the web server and listeners so late events still get flushed.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 1024;
+    }
+
+    /* =========================================================
+       INTERNAL
+       ========================================================= */
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("rabbit.publisher.messages")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record OutboundMessage(
+            String exchange,
+            String routingKey,
+            Object payload,
+            String json,
+            int attempt,
+            CompletableFuture<Void> confirmed
+    ) {
+
+        OutboundMessage nextAttempt() {
+            return new OutboundMessage(exchange, routingKey, payload, json, attempt + 1, confirmed);
+        }
+    }
+}
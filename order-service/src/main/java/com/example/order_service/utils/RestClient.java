@@ -14,6 +14,7 @@ import java.util.Map;
 public class RestClient {
 
     private final RestTemplate restTemplate;
+    private final BulkheadRegistry bulkheadRegistry;
 
     /* =========================================================
        GENERIC EXCHANGE
@@ -44,11 +45,14 @@ public class RestClient {
                         : new HttpEntity<>(httpHeaders);
 
         ResponseEntity<T> response =
-                restTemplate.exchange(
-                        uri,
-                        method,
-                        requestEntity,
-                        responseType
+                bulkheadRegistry.execute(
+                        baseUrl,
+                        () -> restTemplate.exchange(
+                                uri,
+                                method,
+                                requestEntity,
+                                responseType
+                        )
                 );
 
         return response.getBody();
@@ -0,0 +1,118 @@
+package com.example.order_service.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * TCP-Vegas style concurrency limit learned from observed round-trip times.
+ * <p>
+ * The no-load RTT is the fastest recent sample. The estimated downstream queue is
+ * {@code limit * (1 - rttNoLoad / rtt)}:
+ * - queue below alpha → downstream has headroom, grow the limit
+ * - queue above beta  → requests are queueing downstream, shrink the limit
+ * - timeouts / 5xx / 429 → multiplicative backoff
+ * <p>
+ * The no-load RTT is re-probed periodically so the limit follows the downstream
+ * as it scales in and out.
+ */
+public class VegasConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final int probeInterval;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double estimatedLimit;
+    private volatile int limit;
+    private long rttNoLoadNanos;
+    private long samplesUntilProbe;
+
+    public VegasConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, int probeInterval) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.probeInterval = probeInterval;
+        this.estimatedLimit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.limit = (int) estimatedLimit;
+        this.samplesUntilProbe = nextProbe();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getRttNoLoadNanos() {
+        return rttNoLoadNanos;
+    }
+
+    /**
+     * Records one completed call.
+     *
+     * @return change of the integer limit caused by this sample (may be 0 or negative)
+     */
+    public int onSample(long rttNanos, int inFlight, boolean dropped) {
+        lock.lock();
+        try {
+            int before = limit;
+            double current = estimatedLimit;
+            double next;
+
+            if (dropped) {
+                // a fast failure (refused connection, immediate 5xx) says nothing about the
+                // no-load RTT; it must neither become the baseline nor trigger a re-probe
+                next = current * backoffRatio;
+            } else {
+                if (--samplesUntilProbe <= 0) {
+                    // forget the old baseline; the next sample becomes the new no-load RTT
+                    samplesUntilProbe = nextProbe();
+                    rttNoLoadNanos = 0;
+                }
+
+                if (rttNoLoadNanos == 0 || rttNanos < rttNoLoadNanos) {
+                    rttNoLoadNanos = Math.max(rttNanos, 1);
+                    return 0;
+                }
+                next = vegas(current, rttNanos, inFlight);
+            }
+
+            estimatedLimit = Math.clamp(next, minLimit, maxLimit);
+            limit = (int) estimatedLimit;
+            return limit - before;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Next estimate from a successful sample; {@code current} when the sample says nothing.
+     */
+    private double vegas(double current, long rttNanos, int inFlight) {
+        if (inFlight * 2 < current) {
+            // application-limited: RTT says nothing about downstream capacity
+            return current;
+        }
+
+        double threshold = Math.max(1.0, Math.log10(current));
+        double alpha = 3 * threshold;
+        double beta = 6 * threshold;
+        double queueSize = Math.ceil(current * (1 - (double) rttNoLoadNanos / rttNanos));
+
+        if (queueSize <= threshold) {
+            return current + beta;
+        }
+        if (queueSize < alpha) {
+            return current + threshold;
+        }
+        if (queueSize > beta) {
+            return current - threshold;
+        }
+        return current;
+    }
+
+    private long nextProbe() {
+        // jitter so that many instances do not re-probe in lockstep
+        return probeInterval + ThreadLocalRandom.current().nextInt(Math.max(probeInterval / 2, 1));
+    }
+}
@@ -0,0 +1,82 @@
+-- Order service baseline schema (prod profile; dev/test use hibernate ddl-auto)
+
+create table addresses (
+    id          uuid         not null,
+    line1       varchar(255) not null,
+    line2       varchar(255),
+    city        varchar(255) not null,
+    state       varchar(255) not null,
+    country     varchar(255) not null,
+    postal_code varchar(255) not null,
+    primary key (id)
+);
+
+create table orders (
+    id             uuid                        not null,
+    total_amount   numeric(19, 2)              not null,
+    status         varchar(32)                 not null,
+    payment_status varchar(32)                 not null,
+    address_id     uuid,
+    version        bigint                      not null,
+    created_at     timestamp(6) with time zone not null,
+    updated_at     timestamp(6) with time zone not null,
+    primary key (id),
+    constraint uk_orders_address_id unique (address_id),
+    constraint fk_orders_address foreign key (address_id) references addresses (id),
+    constraint ck_orders_status check (status in ('CANCELLED', 'CONFIRMED', 'SHIPPED', 'RECEIVED')),
+    constraint ck_orders_payment_status
+        check (payment_status in ('PENDING', 'INITIATED', 'AUTHORIZED', 'PAID', 'FAILED', 'REFUNDED'))
+);
+
+-- keyset listing by status; payment-status filters
+create index idx_orders_status_created_at_id on orders (status, created_at, id);
+create index idx_orders_payment_status on orders (payment_status);
+
+create table order_products (
+    order_id   uuid           not null,
+    product_id uuid           not null,
+    quantity   integer        not null,
+    unit_price numeric(19, 2) not null,
+    constraint fk_order_products_order foreign key (order_id) references orders (id)
+);
+
+-- element collection is loaded and deleted by order_id
+create index idx_order_products_order_id on order_products (order_id);
+
+create sequence outbox_events_seq start with 1 increment by 50;
+
+create table outbox_events (
+    id           bigint                      not null,
+    aggregate_id uuid                        not null,
+    exchange     varchar(255)                not null,
+    routing_key  varchar(255)                not null,
+    payload      varchar(4000)               not null,
+    created_at   timestamp(6) with time zone not null,
+    published_at timestamp(6) with time zone,
+    primary key (id)
+);
+
+create index idx_outbox_unpublished on outbox_events (published_at, id);
+
+create table order_read_model (
+    id             uuid                        not null,
+    status         varchar(32)                 not null,
+    payment_status varchar(32)                 not null,
+    total_amount   numeric(19, 2)              not null,
+    line1          varchar(255),
+    line2          varchar(255),
+    city           varchar(255),
+    state          varchar(255),
+    country        varchar(255),
+    postal_code    varchar(255),
+    lines_json     varchar(16000)              not null,
+    created_at     timestamp(6) with time zone not null,
+    updated_at     timestamp(6) with time zone not null,
+    order_version  bigint                      not null,
+    version        bigint                      not null,
+    primary key (id)
+);
+
+create index idx_order_read_status_created_at_id on order_read_model (status, created_at, id);
+create index idx_order_read_payment_status_created_at_id on order_read_model (payment_status, created_at, id);
+create index idx_order_read_created_at on order_read_model (created_at);
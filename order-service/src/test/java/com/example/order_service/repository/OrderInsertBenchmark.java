@@ -0,0 +1,133 @@
+package com.example.order_service.repository;
+
+import com.example.order_service.entity.Address;
+import com.example.order_service.entity.OrderEntity;
+import com.example.order_service.entity.OutboxEventEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Order write throughput with JDBC batching off (batch size 1, the previous default)
+ * and on (hibernate.jdbc.batch_size from application.properties).
+ * <p>
+ * Each order is written like createOrder writes it: order row, address, three
+ * product lines and two outbox events. Not part of the regular test run:
+ * {@code mvn -Pbenchmark test}
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderInsertBenchmark {
+
+    private static final int WARMUP_ORDERS = 2_000;
+    private static final int MEASURED_ORDERS = 10_000;
+    private static final int BULK_ORDERS_PER_TRANSACTION = 50;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void insertThroughput() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        for (int ordersPerTransaction : new int[]{1, BULK_ORDERS_PER_TRANSACTION}) {
+            for (Integer batchSize : new Integer[]{1, null}) {
+                insert(WARMUP_ORDERS, ordersPerTransaction, batchSize);
+                statistics.clear();
+
+                long start = System.nanoTime();
+                insert(MEASURED_ORDERS, ordersPerTransaction, batchSize);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                System.out.printf(
+                        "orders/tx=%-3d jdbc batching=%-3s %,10.0f orders/s  %,8d statements%n",
+                        ordersPerTransaction,
+                        batchSize == null ? "on" : "off",
+                        MEASURED_ORDERS / seconds,
+                        statistics.getPrepareStatementCount()
+                );
+            }
+        }
+
+        assertThat(orderRepository.count()).isEqualTo(4L * (WARMUP_ORDERS + MEASURED_ORDERS));
+    }
+
+    /**
+     * @param batchSize session JDBC batch size; null keeps the configured one
+     */
+    private void insert(int orders, int ordersPerTransaction, Integer batchSize) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        for (int written = 0; written < orders; written += ordersPerTransaction) {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+                List<OutboxEventEntity> events = new ArrayList<>();
+                for (int i = 0; i < ordersPerTransaction; i++) {
+                    OrderEntity order = orderRepository.save(newOrder());
+                    events.add(event(order.getId(), "order.status.confirmed"));
+                    events.add(event(order.getId(), ""));
+                }
+                outboxEventRepository.saveAll(events);
+            });
+        }
+    }
+
+    private OrderEntity newOrder() {
+        Instant now = Instant.now();
+        return OrderEntity.builder()
+                .total(BigDecimal.valueOf(60))
+                .createdAt(now)
+                .updatedAt(now)
+                .address(Address.builder()
+                        .line1("1 Main St")
+                        .city("Pune")
+                        .state("MH")
+                        .country("IN")
+                        .postalCode("411001")
+                        .build())
+                .products(new ArrayList<>(List.of(
+                        new OrderEntity.OrderProduct(UUID.randomUUID(), 1, BigDecimal.TEN),
+                        new OrderEntity.OrderProduct(UUID.randomUUID(), 2, BigDecimal.TEN),
+                        new OrderEntity.OrderProduct(UUID.randomUUID(), 3, BigDecimal.TEN)
+                )))
+                .build();
+    }
+
+    private OutboxEventEntity event(UUID orderId, String routingKey) {
+        return OutboxEventEntity.builder()
+                .aggregateId(orderId)
+                .exchange("order.status.topic.exchange")
+                .routingKey(routingKey)
+                .payload("{\"orderId\":\"" + orderId + "\"}")
+                .createdAt(Instant.now())
+                .build();
+    }
+}
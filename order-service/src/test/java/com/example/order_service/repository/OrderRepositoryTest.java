@@ -0,0 +1,83 @@
+package com.example.order_service.repository;
+
+import com.example.order_service.entity.OrderEntity;
+import com.example.order_service.models.OrderRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void keysetPagesVisitEveryOrderOnceInOrder() {
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        List<OrderEntity> saved = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // pairs share a timestamp so the id tie-breaker is exercised
+            saved.add(orderRepository.save(order(OrderEntity.Status.CONFIRMED, base.plusSeconds(i / 2))));
+        }
+        orderRepository.save(order(OrderEntity.Status.CANCELLED, base));
+        orderRepository.flush();
+
+        List<UUID> visited = new ArrayList<>();
+        List<OrderRow> page = orderRepository.findRowsByStatus(OrderEntity.Status.CONFIRMED, Limit.of(3));
+        while (!page.isEmpty()) {
+            page.forEach(order -> visited.add(order.id()));
+            OrderRow last = page.getLast();
+            page = orderRepository.findRowsByStatusAfter(
+                    OrderEntity.Status.CONFIRMED, last.createdAt(), last.id(), Limit.of(3)
+            );
+        }
+
+        List<UUID> expected = saved.stream()
+                // the database orders UUIDs as unsigned bytes, i.e. like their hex strings
+                .sorted(Comparator.comparing(OrderEntity::getCreatedAt)
+                        .thenComparing(order -> order.getId().toString()))
+                .map(OrderEntity::getId)
+                .toList();
+        assertThat(visited).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void conditionalTransitionOnlyAppliesFromAllowedStatesAndBumpsVersion() {
+        OrderEntity order = orderRepository.saveAndFlush(order(OrderEntity.Status.CONFIRMED, Instant.now()));
+        long version = order.getVersion();
+
+        int shipped = orderRepository.transitionStatus(
+                order.getId(), List.of(OrderEntity.Status.CONFIRMED), OrderEntity.Status.SHIPPED, Instant.now()
+        );
+        // a concurrent CONFIRMED -> CANCELLED that lost the race no longer matches
+        int cancelled = orderRepository.transitionStatus(
+                order.getId(), List.of(OrderEntity.Status.CONFIRMED), OrderEntity.Status.CANCELLED, Instant.now()
+        );
+
+        OrderEntity reloaded = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(shipped).isEqualTo(1);
+        assertThat(cancelled).isZero();
+        assertThat(reloaded.getStatus()).isEqualTo(OrderEntity.Status.SHIPPED);
+        assertThat(reloaded.getVersion()).isEqualTo(version + 1);
+    }
+
+    private OrderEntity order(OrderEntity.Status status, Instant createdAt) {
+        return OrderEntity.builder()
+                .status(status)
+                .total(BigDecimal.TEN)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.order_service.services;
+
+import com.example.order_service.configuration.IdempotencyProperties;
+import com.example.order_service.utils.IdempotencyKeyMismatchException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyStore store =
+            new IdempotencyStore(new IdempotencyProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirstExecution() throws InterruptedException {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ConcurrentLinkedQueue<IdempotencyStore.Outcome<String>> outcomes = new ConcurrentLinkedQueue<>();
+
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            callers.add(Thread.ofVirtual().start(() -> outcomes.add(store.execute("key-1", "payload", () -> {
+                executions.incrementAndGet();
+                await(release);
+                return "order-1";
+            }))));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        assertThat(executions).hasValue(1);
+        assertThat(outcomes).extracting(IdempotencyStore.Outcome::value).containsOnly("order-1");
+        assertThat(outcomes).filteredOn(IdempotencyStore.Outcome::replayed).hasSize(9);
+    }
+
+    @Test
+    void failedExecutionReleasesTheKey() {
+        assertThatThrownBy(() -> store.execute("key-2", "payload", () -> {
+            throw new IllegalStateException("inventory unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        IdempotencyStore.Outcome<String> retry = store.execute("key-2", "payload", () -> "order-2");
+
+        assertThat(retry.value()).isEqualTo("order-2");
+        assertThat(retry.replayed()).isFalse();
+    }
+
+    @Test
+    void reusingAKeyWithADifferentPayloadIsRejected() {
+        store.execute("key-3", "payload", () -> "order-3");
+
+        assertThatThrownBy(() -> store.execute("key-3", "other payload", () -> "order-4"))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.order_service.services;
+
+import com.example.order_service.configuration.OrderAnalyticsProperties;
+import com.example.order_service.utils.RabbitMQPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static com.example.order_service.configuration.RabbitMQConfig.ORDER_ANALYTICS_FANOUT_EXCHANGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderAnalyticsSinkTest {
+
+    private final RabbitMQPublisher publisher = mock(RabbitMQPublisher.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OrderAnalyticsSink newSink(int capacity) {
+        OrderAnalyticsProperties properties = new OrderAnalyticsProperties();
+        properties.setBufferCapacity(capacity);
+        return new OrderAnalyticsSink(publisher, properties, meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushPublishesOneAggregatedSummary() {
+        when(publisher.publish(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        OrderAnalyticsSink sink = newSink(16);
+        UUID hot = UUID.randomUUID();
+        UUID cold = UUID.randomUUID();
+
+        sink.recordFetch(hot);
+        sink.recordFetch(hot);
+        sink.recordFetch(cold);
+        sink.flush();
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(publisher).publish(eq(ORDER_ANALYTICS_FANOUT_EXCHANGE), eq(""), payload.capture());
+        Map<String, Object> summary = (Map<String, Object>) payload.getValue();
+        assertThat(summary).containsEntry("sampledFetches", 3L);
+        assertThat((Map<UUID, Long>) summary.get("fetchesByOrder"))
+                .containsEntry(hot, 2L)
+                .containsEntry(cold, 1L);
+    }
+
+    @Test
+    void overflowOverwritesOldestAndCountsDrops() {
+        when(publisher.publish(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        OrderAnalyticsSink sink = newSink(4);
+
+        for (int i = 0; i < 10; i++) {
+            sink.recordFetch(UUID.randomUUID());
+        }
+        sink.flush();
+
+        assertThat(meterRegistry.get("order.analytics.dropped").tag("reason", "overwritten").counter().count())
+                .isEqualTo(6);
+    }
+
+    @Test
+    void recordingNeverTouchesThePublisher() {
+        OrderAnalyticsSink sink = newSink(16);
+
+        sink.recordFetch(UUID.randomUUID());
+
+        verify(publisher, never()).publish(any(), any(), any());
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.order_service.services;
+
+import com.example.order_service.configuration.StatusUpdateProperties;
+import com.example.order_service.entity.OrderEntity;
+import com.example.order_service.models.BulkStatusUpdateRequest;
+import com.example.order_service.models.BulkStatusUpdateResponse;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureJdbc;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureJdbc
+@Import({OrderBulkStatusService.class, OrderEventOutbox.class, OrderBulkStatusServiceTest.Beans.class})
+class OrderBulkStatusServiceTest {
+
+    @TestConfiguration
+    static class Beans {
+
+        @Bean
+        StatusUpdateProperties statusUpdateProperties() {
+            return new StatusUpdateProperties();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        NoInfoJdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new NoInfoJdbcTemplate(dataSource);
+        }
+    }
+
+    /**
+     * Reports every batched statement as SUCCESS_NO_INFO, like drivers that do not return
+     * per-statement row counts, and lets a test interleave a concurrent write.
+     */
+    static class NoInfoJdbcTemplate extends JdbcTemplate {
+
+        private Runnable beforeBatch = () -> {
+        };
+
+        NoInfoJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            beforeBatch.run();
+            int[] counts = super.batchUpdate(sql, batchArgs);
+            Arrays.fill(counts, Statement.SUCCESS_NO_INFO);
+            return counts;
+        }
+    }
+
+    @Autowired
+    private OrderBulkStatusService bulkStatusService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private NoInfoJdbcTemplate jdbcTemplate;
+
+    @Test
+    void appliesValidItemsAndReportsEveryItem() {
+        OrderEntity confirmed = save(OrderEntity.Status.CONFIRMED);
+        OrderEntity cancelled = save(OrderEntity.Status.CANCELLED);
+        UUID missing = UUID.randomUUID();
+
+        BulkStatusUpdateResponse response = bulkStatusService.updateStatuses(new BulkStatusUpdateRequest(List.of(
+                item(confirmed.getId(), OrderEntity.Status.SHIPPED, OrderEntity.PaymentStatus.INITIATED),
+                item(cancelled.getId(), OrderEntity.Status.SHIPPED, null),
+                item(missing, OrderEntity.Status.SHIPPED, null),
+                item(confirmed.getId(), OrderEntity.Status.CANCELLED, null)
+        )));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(response.getResults())
+                .extracting(BulkStatusUpdateResponse.ItemResult::getOutcome)
+                .containsExactly(
+                        BulkStatusUpdateResponse.Outcome.APPLIED,
+                        BulkStatusUpdateResponse.Outcome.INVALID_TRANSITION,
+                        BulkStatusUpdateResponse.Outcome.NOT_FOUND,
+                        BulkStatusUpdateResponse.Outcome.INVALID_REQUEST
+                );
+        assertThat(response.getApplied()).isEqualTo(1);
+
+        OrderEntity shipped = orderRepository.findById(confirmed.getId()).orElseThrow();
+        assertThat(shipped.getStatus()).isEqualTo(OrderEntity.Status.SHIPPED);
+        assertThat(shipped.getPaymentStatus()).isEqualTo(OrderEntity.PaymentStatus.INITIATED);
+        assertThat(shipped.getVersion()).isEqualTo(confirmed.getVersion() + 1);
+        assertThat(orderRepository.findById(cancelled.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderEntity.Status.CANCELLED);
+
+        // status + analytics, payment status + analytics
+        assertThat(outboxEventRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void unreportedUpdateThatMatchedNoRowIsAConflict() {
+        OrderEntity raced = save(OrderEntity.Status.CONFIRMED);
+        OrderEntity clean = save(OrderEntity.Status.CONFIRMED);
+        // a concurrent writer bumps the version after validation, before the batch runs
+        jdbcTemplate.beforeBatch = () -> jdbcTemplate.update(
+                "update orders set version = version + 1 where id = ?", raced.getId());
+
+        BulkStatusUpdateResponse response = bulkStatusService.updateStatuses(new BulkStatusUpdateRequest(List.of(
+                item(raced.getId(), OrderEntity.Status.SHIPPED, null),
+                item(clean.getId(), OrderEntity.Status.SHIPPED, null)
+        )));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(response.getResults())
+                .extracting(BulkStatusUpdateResponse.ItemResult::getOutcome)
+                .containsExactly(
+                        BulkStatusUpdateResponse.Outcome.CONFLICT,
+                        BulkStatusUpdateResponse.Outcome.APPLIED
+                );
+        assertThat(orderRepository.findById(raced.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderEntity.Status.CONFIRMED);
+        // status + analytics for the clean order only
+        assertThat(outboxEventRepository.count()).isEqualTo(2);
+    }
+
+    private OrderEntity save(OrderEntity.Status status) {
+        Instant now = Instant.now();
+        return orderRepository.saveAndFlush(OrderEntity.builder()
+                .status(status)
+                .total(BigDecimal.TEN)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    private BulkStatusUpdateRequest.Item item(
+            UUID orderId,
+            OrderEntity.Status status,
+            OrderEntity.PaymentStatus paymentStatus
+    ) {
+        return new BulkStatusUpdateRequest.Item(orderId, status, paymentStatus);
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.order_service.services;
+
+import com.example.order_service.configuration.OrderReadModelProperties;
+import com.example.order_service.entity.Address;
+import com.example.order_service.entity.OrderEntity;
+import com.example.order_service.models.OrderView;
+import com.example.order_service.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the statement count of the read paths against N+1 regressions.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OrderReadService.class, OrderReadModelProjector.class, OrderReadServiceTest.Beans.class})
+class OrderReadServiceTest {
+
+    @TestConfiguration
+    static class Beans {
+
+        @Bean
+        OrderReadModelProperties orderReadModelProperties() {
+            return new OrderReadModelProperties();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new JsonMapper();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private OrderAnalyticsSink orderAnalyticsSink;
+
+    @Autowired
+    private OrderReadService orderReadService;
+
+    @Autowired
+    private OrderReadModelProjector projector;
+
+    @Autowired
+    private OrderReadModelProperties readModelProperties;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        for (int i = 0; i < 10; i++) {
+            orderRepository.save(order(base.plusSeconds(i)));
+        }
+        orderRepository.flush();
+        entityManager.clear();
+        readModelProperties.setEnabled(false);
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void readModelPageLoadsInOneStatement() {
+        orderRepository.findAll().forEach(projector::project);
+        entityManager.flush();
+        entityManager.clear();
+        readModelProperties.setEnabled(true);
+        statistics.clear();
+
+        List<OrderView> page = orderReadService.getOrdersPage(OrderEntity.Status.CONFIRMED, null, 8);
+
+        assertThat(page).hasSize(9);
+        assertThat(page).allSatisfy(view -> {
+            assertThat(view.lines()).hasSize(2);
+            assertThat(view.order().city()).isEqualTo("Pune");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void staleSnapshotDoesNotOverwriteNewerProjection() {
+        OrderEntity order = orderRepository.findAll().getFirst();
+        projector.project(order);
+        order.setStatus(OrderEntity.Status.SHIPPED);
+        order.setVersion(order.getVersion() - 1);
+
+        projector.project(order);
+        entityManager.flush();
+        entityManager.clear();
+        readModelProperties.setEnabled(true);
+
+        assertThat(orderReadService.getOrderById(order.getId()).order().status())
+                .isEqualTo(OrderEntity.Status.CONFIRMED);
+    }
+
+    @Test
+    void pageFromOrderTablesLoadsInTwoStatementsRegardlessOfSize() {
+        List<OrderView> page = orderReadService.getOrdersPage(OrderEntity.Status.CONFIRMED, null, 8);
+
+        assertThat(page).hasSize(9);
+        assertThat(page).allSatisfy(view -> {
+            assertThat(view.lines()).hasSize(2);
+            assertThat(view.order().city()).isEqualTo("Pune");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void exportLoadsLinesOncePerChunk() {
+        List<OrderView> exported = new ArrayList<>();
+
+        orderReadService.forEachOrderByStatus(OrderEntity.Status.CONFIRMED, 4, exported::add);
+
+        assertThat(exported).hasSize(10);
+        // 1 streamed row query + 3 chunks (4 + 4 + 2)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    void readModelExportKeepsNothingInThePersistenceContext() {
+        orderRepository.findAll().forEach(projector::project);
+        entityManager.flush();
+        entityManager.clear();
+        readModelProperties.setEnabled(true);
+        Session session = entityManager.unwrap(Session.class);
+        List<Integer> managedEntities = new ArrayList<>();
+
+        orderReadService.forEachOrderByStatus(OrderEntity.Status.CONFIRMED, 4, view -> {
+            assertThat(view.lines()).hasSize(2);
+            managedEntities.add(session.getStatistics().getEntityCount());
+        });
+
+        assertThat(managedEntities).hasSize(10).containsOnly(0);
+    }
+
+    @Test
+    void singleOrderLoadsAggregateInOneStatement() {
+        UUID id = orderRepository.findRowsByStatus(OrderEntity.Status.CONFIRMED, Limit.of(1)).getFirst().id();
+        entityManager.clear();
+        statistics.clear();
+
+        OrderEntity order = orderRepository.findWithDetailsById(id).orElseThrow();
+
+        assertThat(order.getProducts()).hasSize(2);
+        assertThat(order.getAddress().getCity()).isEqualTo("Pune");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private OrderEntity order(Instant createdAt) {
+        return OrderEntity.builder()
+                .total(BigDecimal.valueOf(30))
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .address(Address.builder()
+                        .line1("1 Main St")
+                        .city("Pune")
+                        .state("MH")
+                        .country("IN")
+                        .postalCode("411001")
+                        .build())
+                .products(new ArrayList<>(List.of(
+                        new OrderEntity.OrderProduct(UUID.randomUUID(), 1, BigDecimal.TEN),
+                        new OrderEntity.OrderProduct(UUID.randomUUID(), 2, BigDecimal.TEN)
+                )))
+                .build();
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.order_service.services;
+
+import com.example.order_service.configuration.FanOutProperties;
+import com.example.order_service.configuration.InventoryProperties;
+import com.example.order_service.configuration.StatusUpdateProperties;
+import com.example.order_service.entity.OrderEntity;
+import com.example.order_service.models.InventoryReduceResponse;
+import com.example.order_service.models.OrderCreateRequest;
+import com.example.order_service.models.ProductSnapshot;
+import com.example.order_service.repository.OrderRepository;
+import com.example.order_service.utils.RestClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpMethod;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class OrderServiceTest {
+
+    private static final String RESERVE_PATH = "/api/v1/products/reduce";
+    private static final String RELEASE_PATH = "/api/v1/products/release";
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final RestClient restClient = mock(RestClient.class);
+    private final ProductSnapshotCache productSnapshotCache = mock(ProductSnapshotCache.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final InventoryProperties inventoryProperties = new InventoryProperties();
+
+    private final UUID productId = UUID.randomUUID();
+
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(productSnapshotCache.getAll(List.of(productId))).thenReturn(
+                Map.of(productId, new ProductSnapshot(productId, new BigDecimal("12.50"), "ACTIVE"))
+        );
+
+        orderService = new OrderService(
+                orderRepository,
+                restClient,
+                productSnapshotCache,
+                mock(ApplicationEventPublisher.class),
+                mock(OrderEventOutbox.class),
+                Thread.ofVirtual().factory(),
+                new FanOutProperties(),
+                inventoryProperties,
+                new StatusUpdateProperties(),
+                transactionManager,
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    void remoteCallsRunBeforeTheTransactionIsOpened() {
+        when(reserve())
+                .thenAnswer(invocation -> {
+                    // no connection may be held while the product service is called
+                    verifyNoInteractions(transactionManager);
+                    return new InventoryReduceResponse("SUCCESS", List.of(productId), null);
+                });
+        when(orderRepository.save(any())).thenAnswer(invocation -> {
+            OrderEntity order = invocation.getArgument(0);
+            order.setId(UUID.randomUUID());
+            return order;
+        });
+
+        OrderEntity order = orderService.createOrder(request(2));
+
+        assertThat(order.getTotal()).isEqualByComparingTo("25.00");
+        verify(transactionManager).commit(any());
+        verify(restClient, never()).exchange(any(), any(), eq(RELEASE_PATH), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void failedPersistReleasesTheReservation() {
+        when(reserve())
+                .thenReturn(new InventoryReduceResponse("SUCCESS", List.of(productId), null));
+        when(orderRepository.save(any())).thenThrow(new DataIntegrityViolationException("constraint"));
+
+        assertThatThrownBy(() -> orderService.createOrder(request(1)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        verify(transactionManager).rollback(any());
+        verifyReleased();
+    }
+
+    @Test
+    void failedLookupNeverReservesStock() {
+        when(productSnapshotCache.getAll(List.of(productId))).thenReturn(Map.of());
+
+        assertThatThrownBy(() -> orderService.createOrder(request(1)))
+                .hasMessage("Some products are missing or unavailable");
+
+        verifyNoInteractions(restClient, transactionManager);
+    }
+
+    @Test
+    void failedLookupReleasesASpeculativeReservationStillInFlight() throws InterruptedException {
+        inventoryProperties.setSpeculativeReservation(true);
+        CountDownLatch reserveSent = new CountDownLatch(1);
+        CountDownLatch reserveCancelled = new CountDownLatch(1);
+        when(reserve()).thenAnswer(invocation -> {
+            reserveSent.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException ex) {
+                // the product service may still apply a request abandoned mid-flight
+                reserveCancelled.countDown();
+                throw ex;
+            }
+            return new InventoryReduceResponse("SUCCESS", List.of(productId), null);
+        });
+        when(productSnapshotCache.getAll(List.of(productId))).thenAnswer(invocation -> {
+            reserveSent.await(1, TimeUnit.SECONDS);
+            return Map.of();
+        });
+
+        assertThatThrownBy(() -> orderService.createOrder(request(1)))
+                .hasMessage("Some products are missing or unavailable");
+
+        assertThat(reserveCancelled.await(1, TimeUnit.SECONDS)).isTrue();
+        verifyReleased();
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void rejectedReservationIsNotReleased() {
+        when(reserve()).thenReturn(new InventoryReduceResponse("INSUFFICIENT_STOCK", List.of(), null));
+
+        assertThatThrownBy(() -> orderService.createOrder(request(1)))
+                .hasMessage("Inventory reduction failed");
+
+        verify(restClient, never()).exchange(any(), any(), eq(RELEASE_PATH), any(), any(), any(), any(), any());
+    }
+
+    private InventoryReduceResponse reserve() {
+        return restClient.exchange(eq(HttpMethod.POST), any(), eq(RESERVE_PATH), isNull(), isNull(), any(),
+                eq(InventoryReduceResponse.class), any());
+    }
+
+    /**
+     * The release carries the key of the reduce it compensates.
+     */
+    private void verifyReleased() {
+        ArgumentCaptor<Map<String, String>> reserveHeaders = headerCaptor();
+        ArgumentCaptor<Map<String, String>> releaseHeaders = headerCaptor();
+        verify(restClient).exchange(eq(HttpMethod.POST), any(), eq(RESERVE_PATH), any(), any(), any(),
+                eq(InventoryReduceResponse.class), reserveHeaders.capture());
+        verify(restClient).exchange(eq(HttpMethod.POST), any(), eq(RELEASE_PATH), any(), any(), any(),
+                eq(InventoryReduceResponse.class), releaseHeaders.capture());
+        assertThat(releaseHeaders.getValue().get("Idempotency-Key"))
+                .isNotNull()
+                .isEqualTo(reserveHeaders.getValue().get("Idempotency-Key"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Map<String, String>> headerCaptor() {
+        return ArgumentCaptor.forClass(Map.class);
+    }
+
+    private OrderCreateRequest request(int quantity) {
+        return OrderCreateRequest.builder()
+                .address(OrderCreateRequest.AddressRequest.builder()
+                        .line1("1 Main St")
+                        .city("Springfield")
+                        .state("IL")
+                        .country("US")
+                        .postalCode("62701")
+                        .build())
+                .products(List.of(new OrderCreateRequest.OrderProductRequest(productId, quantity)))
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.order_service.services;
+
+import com.example.order_service.configuration.OutboxProperties;
+import com.example.order_service.entity.OutboxEventEntity;
+import com.example.order_service.repository.OutboxEventRepository;
+import com.example.order_service.utils.RabbitMQPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final RabbitMQPublisher rabbitMQPublisher = mock(RabbitMQPublisher.class);
+
+    @Test
+    void publishesOneBatchPerRunEvenWithABacklog() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(3);
+        // the outbox never empties: every read returns a full batch
+        when(outboxEventRepository.findByPublishedAtIsNullOrderByIdAsc(any())).thenReturn(batch(3));
+        when(rabbitMQPublisher.publishJson(any(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, rabbitMQPublisher, properties, new SimpleMeterRegistry());
+
+        relay.relay();
+
+        verify(outboxEventRepository, times(1)).findByPublishedAtIsNullOrderByIdAsc(any());
+        verify(outboxEventRepository).markPublished(anyList(), any());
+    }
+
+    private static List<OutboxEventEntity> batch(int size) {
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> OutboxEventEntity.builder()
+                        .id(id)
+                        .aggregateId(UUID.randomUUID())
+                        .exchange("order.status")
+                        .routingKey("order.status.confirmed")
+                        .payload("{}")
+                        .createdAt(Instant.now())
+                        .build())
+                .toList();
+    }
+}
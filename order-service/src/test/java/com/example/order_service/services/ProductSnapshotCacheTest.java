@@ -0,0 +1,90 @@
+package com.example.order_service.services;
+
+import com.example.order_service.configuration.ProductBatchProperties;
+import com.example.order_service.configuration.ProductCacheProperties;
+import com.example.order_service.models.ProductSnapshot;
+import com.example.order_service.utils.RestClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductSnapshotCacheTest {
+
+    private final RestClient restClient = mock(RestClient.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final UUID productId = UUID.randomUUID();
+
+    private ProductSnapshotCache newCache() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+        executor.setVirtualThreads(true);
+        ProductBatchFetcher fetcher =
+                new ProductBatchFetcher(restClient, new ProductBatchProperties(), executor, meterRegistry);
+        return new ProductSnapshotCache(fetcher, new ProductCacheProperties(), executor, meterRegistry);
+    }
+
+    @Test
+    void concurrentMissesShareOneBatchCall() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(restClient.post(any(), eq("/api/v1/products/batch"), isNull(), any(), eq(ProductSnapshot[].class)))
+                .thenAnswer(invocation -> {
+                    release.await(1, TimeUnit.SECONDS);
+                    return snapshotsFor(invocation.getArgument(3));
+                });
+        ProductSnapshotCache cache = newCache();
+
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            callers.add(Thread.ofVirtual().start(() -> cache.getAll(List.of(productId))));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        verify(restClient, times(1)).post(any(), any(), any(), any(), eq(ProductSnapshot[].class));
+        assertThat(cache.getAll(List.of(productId))).containsKey(productId);
+    }
+
+    @Test
+    void invalidationForcesReload() {
+        when(restClient.post(any(), eq("/api/v1/products/batch"), isNull(), any(), eq(ProductSnapshot[].class)))
+                .thenAnswer(invocation -> snapshotsFor(invocation.getArgument(3)));
+        ProductSnapshotCache cache = newCache();
+
+        cache.getAll(List.of(productId));
+        cache.getAll(List.of(productId));
+        cache.invalidate(productId);
+        Map<UUID, ProductSnapshot> reloaded = cache.getAll(List.of(productId));
+
+        assertThat(reloaded).containsKey(productId);
+        verify(restClient, times(2)).post(any(), any(), any(), any(), eq(ProductSnapshot[].class));
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").counter().count())
+                .isEqualTo(1);
+    }
+
+    private static ProductSnapshot[] snapshotsFor(Collection<UUID> ids) {
+        return ids.stream()
+                .map(id -> new ProductSnapshot(id, BigDecimal.TEN, "ACTIVE"))
+                .toArray(ProductSnapshot[]::new);
+    }
+}
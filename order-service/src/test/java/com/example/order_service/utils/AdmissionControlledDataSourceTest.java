@@ -0,0 +1,87 @@
+package com.example.order_service.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.servlet.mvc.annotation.ResponseStatusExceptionResolver;
+
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlledDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void holdsPermitWhileConnectionIsCheckedOutAndRejectsBeyondTheWaitBudget() throws Exception {
+        ConnectionAdmissionControl admission = new ConnectionAdmissionControl(
+                "test", 1, 10, Duration.ofMillis(50), Duration.ofSeconds(2), meterRegistry
+        );
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(h2(), admission);
+
+        Connection first = dataSource.getConnection();
+        assertThat(admission.getInUse()).isEqualTo(1);
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(DatabaseBusyException.class);
+        assertThat(meterRegistry.get("db.admission.rejected").tag("reason", "timeout").counter().count())
+                .isEqualTo(1);
+
+        // a second close() must not hand out an extra permit
+        first.close();
+        first.close();
+        assertThat(admission.getInUse()).isZero();
+
+        try (Connection second = dataSource.getConnection()) {
+            assertThat(second.isValid(1)).isTrue();
+            assertThat(admission.getInUse()).isEqualTo(1);
+        }
+        assertThat(meterRegistry.get("db.admission.wait").tag("outcome", "admitted").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void rejectsImmediatelyWhenQueueIsFull() throws Exception {
+        ConnectionAdmissionControl admission = new ConnectionAdmissionControl(
+                "test", 1, 0, Duration.ofSeconds(10), Duration.ofSeconds(2), meterRegistry
+        );
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(h2(), admission);
+
+        try (Connection ignored = dataSource.getConnection()) {
+            long start = System.nanoTime();
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(DatabaseBusyException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        }
+        assertThat(meterRegistry.get("db.admission.rejected").tag("reason", "queue_full").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void rejectionResolvesTo503WithRetryAfterEvenWhenWrapped() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ResponseStatusExceptionResolver().resolveException(
+                new MockHttpServletRequest(),
+                response,
+                null,
+                new CannotCreateTransactionException(
+                        "Could not open JPA EntityManager for transaction",
+                        new DatabaseBusyException("busy", Duration.ofMillis(1500))
+                )
+        );
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:admission");
+        return dataSource;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.order_service.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsWhenPermitsAndQueueAreExhausted() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("test:1", 1, 0, Duration.ofSeconds(1), meterRegistry);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = Thread.ofVirtual().start(() -> bulkhead.execute(() -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        assertThat(holding.await(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> bulkhead.execute(() -> "rejected"))
+                .isInstanceOf(BulkheadFullException.class);
+        assertThat(meterRegistry.get("http.client.bulkhead.rejected").tag("reason", "queue_full").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("http.client.bulkhead.in.flight").gauge().value()).isEqualTo(1);
+
+        release.countDown();
+        holder.join();
+        assertThat(bulkhead.execute(() -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void queuedCallerGivesUpAfterMaxWait() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("test:2", 1, 10, Duration.ofMillis(50), meterRegistry);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = Thread.ofVirtual().start(() -> bulkhead.execute(() -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        assertThat(holding.await(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> bulkhead.execute(() -> "late"))
+                .isInstanceOf(BulkheadFullException.class)
+                .hasMessageContaining("within");
+        assertThat(meterRegistry.get("http.client.bulkhead.rejected").tag("reason", "timeout").counter().count())
+                .isEqualTo(1);
+
+        release.countDown();
+        holder.join();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
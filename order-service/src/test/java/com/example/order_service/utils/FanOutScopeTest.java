@@ -0,0 +1,82 @@
+package com.example.order_service.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FanOutScopeTest {
+
+    private final ThreadFactory threadFactory = Thread.ofVirtual().factory();
+
+    @Test
+    void runsBranchesConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        try (FanOutScope scope = new FanOutScope("test", threadFactory)) {
+            FanOutScope.Branch<String> first = scope.fork("first", Duration.ofSeconds(2), () -> {
+                bothStarted.countDown();
+                bothStarted.await();
+                return "a";
+            });
+            FanOutScope.Branch<String> second = scope.fork("second", Duration.ofSeconds(2), () -> {
+                bothStarted.countDown();
+                bothStarted.await();
+                return "b";
+            });
+
+            scope.join();
+
+            assertThat(first.get()).isEqualTo("a");
+            assertThat(second.get()).isEqualTo("b");
+        }
+    }
+
+    @Test
+    void failureCancelsSiblingsAndIsRethrown() throws InterruptedException {
+        CountDownLatch siblingInterrupted = new CountDownLatch(1);
+        AtomicBoolean siblingCompleted = new AtomicBoolean();
+
+        try (FanOutScope scope = new FanOutScope("test", threadFactory)) {
+            scope.fork("slow", Duration.ofSeconds(10), () -> {
+                try {
+                    Thread.sleep(10_000);
+                    siblingCompleted.set(true);
+                } catch (InterruptedException ex) {
+                    siblingInterrupted.countDown();
+                }
+                return null;
+            });
+            scope.fork("failing", Duration.ofSeconds(10), () -> {
+                throw new IllegalStateException("boom");
+            });
+
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("boom");
+        }
+
+        assertThat(siblingInterrupted.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(siblingCompleted).isFalse();
+    }
+
+    @Test
+    void missedDeadlineFailsTheScope() {
+        try (FanOutScope scope = new FanOutScope("test", threadFactory)) {
+            scope.fork("stuck", Duration.ofMillis(50), () -> {
+                Thread.sleep(5_000);
+                return null;
+            });
+
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("exceeded its deadline");
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.order_service.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicroBatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    private Map<Integer, String> square(Collection<Integer> keys) {
+        batches.add(List.copyOf(keys));
+        return keys.stream()
+                .filter(key -> key >= 0)
+                .collect(Collectors.toMap(Function.identity(), key -> String.valueOf(key * key)));
+    }
+
+    @Test
+    void coalescesCallersWithinWindowAndDemultiplexes() {
+        try (MicroBatcher<Integer, String> batcher = new MicroBatcher<>(
+                "test", 100, Duration.ofMillis(50), this::square,
+                Executors.newVirtualThreadPerTaskExecutor(), meterRegistry)) {
+
+            CompletableFuture<Map<Integer, String>> first = batcher.submit(List.of(1, 2));
+            CompletableFuture<Map<Integer, String>> second = batcher.submit(List.of(2, 3, -1));
+
+            assertThat(first.join()).containsOnly(Map.entry(1, "1"), Map.entry(2, "4"));
+            assertThat(second.join()).containsOnly(Map.entry(2, "4"), Map.entry(3, "9"));
+            assertThat(batches).containsExactly(List.of(1, 2, 3, -1));
+        }
+    }
+
+    @Test
+    void sendsBatchAsSoonAsSizeCapIsReached() {
+        try (MicroBatcher<Integer, String> batcher = new MicroBatcher<>(
+                "test", 2, Duration.ofSeconds(10), this::square,
+                Executors.newVirtualThreadPerTaskExecutor(), meterRegistry)) {
+
+            Map<Integer, String> result = batcher.submit(List.of(1, 2)).join();
+
+            assertThat(result).hasSize(2);
+            assertThat(meterRegistry.get("micro.batch.fill.ratio").summary().max()).isEqualTo(1.0);
+            assertThat(meterRegistry.get("micro.batch.flushes").tag("trigger", "size").counter().count())
+                    .isEqualTo(1);
+        }
+    }
+}
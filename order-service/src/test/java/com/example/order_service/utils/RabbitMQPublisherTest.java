@@ -0,0 +1,23 @@
+package com.example.order_service.utils;
+
+import com.example.order_service.configuration.RabbitPublisherProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class RabbitMQPublisherTest {
+
+    @Test
+    void batchLargerThanTheConfirmWindowIsRejectedAtStartup() {
+        RabbitPublisherProperties properties = new RabbitPublisherProperties();
+        properties.setBatchSize(200);
+        properties.setMaxOutstandingConfirms(100);
+
+        assertThatThrownBy(() -> new RabbitMQPublisher(mock(RabbitTemplate.class), properties, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rabbit-publisher.batch-size");
+    }
+}
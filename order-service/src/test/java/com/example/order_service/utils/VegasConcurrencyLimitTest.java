@@ -0,0 +1,71 @@
+package com.example.order_service.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VegasConcurrencyLimitTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void growsWhileRttStaysAtBaseline() {
+        VegasConcurrencyLimit limit = new VegasConcurrencyLimit(20, 5, 1000, 0.9, 1_000_000);
+        limit.onSample(10 * MS, 20, false);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(10 * MS, limit.getLimit(), false);
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    void shrinksWhenDownstreamQueues() {
+        VegasConcurrencyLimit limit = new VegasConcurrencyLimit(100, 5, 1000, 0.9, 1_000_000);
+        limit.onSample(10 * MS, 100, false);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(50 * MS, limit.getLimit(), false);
+        }
+
+        assertThat(limit.getLimit()).isLessThan(100);
+    }
+
+    @Test
+    void backsOffOnDropsButNeverBelowMinimum() {
+        VegasConcurrencyLimit limit = new VegasConcurrencyLimit(100, 5, 1000, 0.5, 1_000_000);
+        limit.onSample(10 * MS, 100, false);
+
+        int delta = limit.onSample(10 * MS, 100, true);
+        assertThat(delta).isEqualTo(-50);
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(10 * MS, 100, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void fastFailuresShrinkTheLimitWithoutBecomingTheBaseline() {
+        VegasConcurrencyLimit limit = new VegasConcurrencyLimit(100, 5, 1000, 0.5, 1_000_000);
+
+        // connection refused long before any real response could arrive
+        assertThat(limit.onSample(MS / 10, 100, true)).isEqualTo(-50);
+        assertThat(limit.getRttNoLoadNanos()).isZero();
+
+        limit.onSample(10 * MS, 50, false);
+        limit.onSample(MS / 10, 50, true);
+        assertThat(limit.getRttNoLoadNanos()).isEqualTo(10 * MS);
+        assertThat(limit.getLimit()).isEqualTo(25);
+    }
+
+    @Test
+    void ignoresSamplesWhenApplicationLimited() {
+        VegasConcurrencyLimit limit = new VegasConcurrencyLimit(100, 5, 1000, 0.9, 1_000_000);
+        limit.onSample(10 * MS, 1, false);
+
+        assertThat(limit.onSample(200 * MS, 1, false)).isZero();
+        assertThat(limit.getLimit()).isEqualTo(100);
+    }
+}